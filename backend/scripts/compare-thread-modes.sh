@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Runs the same load against the backend on platform threads, then on virtual threads.
+# Needs Java 21 on the PATH and a reachable database configured through .env.
+#
+#   scripts/compare-thread-modes.sh [concurrency] [duration-seconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY="${1:-400}"
+DURATION="${2:-60}"
+PORT="${LOADTEST_PORT:-18080}"
+DRIVER=src/loadtest/java/com/myworkflow/loadtest/ThreadModeComparison.java
+
+./mvnw -B -q -Pjava21 -DskipTests package
+JAR="$(ls target/*.jar | grep -v original | head -n 1)"
+
+run_mode() {
+    local mode="$1" virtual="$2"
+
+    java -jar "$JAR" \
+        --server.port="$PORT" \
+        --spring.threads.virtual.enabled="$virtual" \
+        --rate-limit.enabled=false \
+        --file.gc.enabled=false \
+        > "target/loadtest-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+
+    for _ in $(seq 1 60); do
+        curl -s -o /dev/null "http://localhost:$PORT/api/auth/login" && break
+        sleep 1
+    done
+
+    java "$DRIVER" --base-url "http://localhost:$PORT" --label "$mode" \
+        --concurrency "$CONCURRENCY" --duration "$DURATION"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# Loads a deterministic synthetic data set into the database configured through .env,
+# then exits. Extra arguments override the datagen.* settings, for example:
+#
+#   scripts/generate-dataset.sh --datagen.users=5000 --datagen.projects-per-user=lognormal:200:0.7 \
+#       --datagen.tasks-per-project=lognormal:100:1.2 --datagen.seed=7
+#
+# Generated users sign in as user<id>@datagen.example.com with password123.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+./mvnw -B -q -DskipTests package
+JAR="$(ls target/*.jar | grep -v original | head -n 1)"
+
+java -jar "$JAR" \
+    --spring.profiles.active=datagen \
+    --spring.main.web-application-type=none \
+    --file.gc.enabled=false \
+    --task.archive.enabled=false \
+    "$@"
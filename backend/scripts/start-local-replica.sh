@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Starts a local Postgres primary on 5432 and a streaming replica of it on 5433, for
+# trying out read-replica routing. Needs Docker. Remove both with:
+#
+#   docker rm -f myworkflow-primary myworkflow-replica && docker network rm myworkflow-db
+set -euo pipefail
+
+IMAGE="${POSTGRES_IMAGE:-postgres:16}"
+DB="${POSTGRES_DB:-myworkflow}"
+PG_USER="${POSTGRES_USER:-myworkflow}"
+PASSWORD="${POSTGRES_PASSWORD:-myworkflow}"
+
+docker network inspect myworkflow-db > /dev/null 2>&1 || docker network create myworkflow-db > /dev/null
+
+docker run -d --name myworkflow-primary --network myworkflow-db -p 5432:5432 \
+    -e POSTGRES_DB="$DB" -e POSTGRES_USER="$PG_USER" -e POSTGRES_PASSWORD="$PASSWORD" \
+    "$IMAGE" -c wal_level=replica -c max_wal_senders=5 > /dev/null
+
+until docker exec myworkflow-primary pg_isready -U "$PG_USER" -d "$DB" > /dev/null 2>&1; do
+    sleep 1
+done
+# The image only allows regular connections from the network, the replica also needs a replication one
+docker exec myworkflow-primary sh -c 'echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"'
+docker exec myworkflow-primary psql -q -U "$PG_USER" -d "$DB" -c 'SELECT pg_reload_conf()' > /dev/null
+
+docker run -d --name myworkflow-replica --network myworkflow-db -p 5433:5432 \
+    --user postgres -e PGPASSWORD="$PASSWORD" \
+    "$IMAGE" bash -c "rm -rf \"\$PGDATA\"/* \
+        && pg_basebackup -h myworkflow-primary -U $PG_USER -D \"\$PGDATA\" -R -X stream \
+        && chmod 700 \"\$PGDATA\" \
+        && exec postgres" > /dev/null
+
+cat <<ENV
+Primary on localhost:5432, replica on localhost:5433. Add to .env:
+
+DB_URL=jdbc:postgresql://localhost:5432/$DB
+DB_USERNAME=$PG_USER
+DB_PASSWORD=$PASSWORD
+DATASOURCE_REPLICA_URL=jdbc:postgresql://localhost:5433/$DB
+ENV
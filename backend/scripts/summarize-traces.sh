@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# Summarizes the trace files written by the backend: slowest spans, self time per
+# span name and the critical path of the slowest requests, for example:
+#
+#   scripts/summarize-traces.sh --dir traces --top 20 --route "GET /api/dashboard"
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAR="$(ls target/*.jar 2>/dev/null | grep -v original | head -n 1 || true)"
+if [ -z "$JAR" ]; then
+    ./mvnw -B -q -DskipTests package
+    JAR="$(ls target/*.jar | grep -v original | head -n 1)"
+fi
+
+java -cp "$JAR" \
+    -Dloader.main=com.myworkflow.infrastructure.tracing.TraceSummary \
+    org.springframework.boot.loader.launch.PropertiesLauncher \
+    "$@"
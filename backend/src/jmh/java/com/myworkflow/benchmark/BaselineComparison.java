@@ -0,0 +1,96 @@
+package com.myworkflow.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints each benchmark of a JMH JSON result next to the committed baseline: time
+ * per operation and bytes allocated per operation (from -prof gc), with the change
+ * in percent. Benchmarks missing from either side are listed without a delta.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:java@compare-baseline
+ * mvn -Pjmh test-compile exec:java@compare-baseline -Dbaseline.result=target/other.json
+ * </pre>
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: BaselineComparison <baseline.json> <result.json>");
+            System.exit(2);
+        }
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n",
+                "Benchmark", "Baseline", "Current", "Change", "B/op base", "B/op now", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.remove(entry.getKey());
+            JsonNode after = entry.getValue();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+
+            System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n",
+                    entry.getKey(),
+                    before != null ? format(score(before), unit) : "-",
+                    format(score(after), unit),
+                    before != null ? change(score(before), score(after)) : "new",
+                    before != null ? format(allocation(before), "") : "-",
+                    format(allocation(after), ""),
+                    before != null ? change(allocation(before), allocation(after)) : "");
+        }
+        for (String removed : baseline.keySet()) {
+            System.out.printf("%-70s %14s%n", removed, "not run");
+        }
+    }
+
+    // Keyed by benchmark name plus parameters, e.g. DashboardBenchmark.dashboard tasks=10000
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.myworkflow.benchmark.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble(Double.NaN);
+    }
+
+    // Older JMH versions prefix secondary metrics with a middle dot
+    private static double allocation(JsonNode result) {
+        JsonNode metrics = result.path("secondaryMetrics");
+        JsonNode metric = metrics.has(ALLOCATION) ? metrics.get(ALLOCATION) : metrics.path("·" + ALLOCATION);
+        return metric.path("score").asDouble(Double.NaN);
+    }
+
+    private static String format(double value, String unit) {
+        return Double.isNaN(value) ? "-" : String.format("%.1f %s", value, unit).trim();
+    }
+
+    private static String change(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return "";
+        }
+        return String.format("%+.1f%%", (after - before) / before * 100);
+    }
+}
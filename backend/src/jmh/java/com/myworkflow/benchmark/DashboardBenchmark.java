@@ -0,0 +1,132 @@
+package com.myworkflow.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.myworkflow.application.dto.response.DashboardResponse;
+import com.myworkflow.application.service.DashboardService;
+import com.myworkflow.domain.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Everything DashboardService does after its native query returns: row
+ * transformation, grouping, statistics and the response lists. The query is
+ * replaced by fixed rows in the same shape, about 100 tasks per project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardBenchmark {
+
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE", "DONE"};
+
+    @Param({"100", "10000", "100000"})
+    private int tasks;
+
+    private DashboardService dashboardService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        // One info line per call would otherwise be part of the measurement
+        ((Logger) LoggerFactory.getLogger(DashboardService.class)).setLevel(Level.WARN);
+
+        List<Object[]> rows = rows(tasks);
+        Query query = (Query) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Query.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getResultList" -> rows;
+                    case "setParameter" -> proxy;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        EntityManager entityManager = (EntityManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{EntityManager.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("createNativeQuery")) {
+                        return query;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        dashboardService = new DashboardService();
+        ReflectionTestUtils.setField(dashboardService, "entityManager", entityManager);
+        user = User.builder().id(1L).email("jane.doe@example.com").build();
+    }
+
+    @Benchmark
+    public DashboardResponse dashboard() {
+        return dashboardService.getDashboardData(user);
+    }
+
+    // Seeded so every run sees the same rows, ordered like the query's ORDER BY
+    private static List<Object[]> rows(int taskCount) {
+        SplittableRandom random = new SplittableRandom(42);
+        int projectCount = Math.max(1, taskCount / 100);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>(taskCount);
+
+        for (int p = 0; p < projectCount; p++) {
+            int projectTasks = taskCount / projectCount + (p < taskCount % projectCount ? 1 : 0);
+            Timestamp projectCreated = Timestamp.valueOf(now.minusDays(p));
+            long archived = random.nextInt(20);
+
+            List<Object[]> projectRows = new ArrayList<>(projectTasks);
+            long done = 0;
+            long withDeadline = 0;
+            for (int t = 0; t < projectTasks; t++) {
+                String status = STATUSES[random.nextInt(STATUSES.length)];
+                LocalDate dueDate = random.nextInt(5) == 0 ? null : today.plusDays(random.nextInt(-30, 60));
+                done += status.equals("DONE") ? 1 : 0;
+                withDeadline += dueDate != null ? 1 : 0;
+
+                projectRows.add(new Object[]{
+                        (long) p + 1, "Project " + p, "Benchmark project", projectCreated, projectCreated,
+                        null, null, null,
+                        (long) p * 1_000 + t, "Task " + t, "Benchmark task description",
+                        dueDate != null ? Date.valueOf(dueDate) : null, status,
+                        Timestamp.valueOf(now.minusHours(random.nextInt(24 * 30))),
+                        Timestamp.valueOf(now.minusHours(random.nextInt(24 * 10))),
+                        dueDate != null && dueDate.isBefore(today) && !status.equals("DONE"),
+                        archived
+                });
+            }
+            projectRows.sort((a, b) -> a[11] == null ? (b[11] == null ? 0 : 1)
+                    : b[11] == null ? -1 : ((Date) a[11]).compareTo((Date) b[11]));
+
+            // Project columns are repeated on each of its task rows
+            for (Object[] row : projectRows) {
+                row[5] = (long) projectTasks + archived;
+                row[6] = done + archived;
+                row[7] = withDeadline;
+            }
+            rows.addAll(projectRows);
+        }
+        return rows;
+    }
+}
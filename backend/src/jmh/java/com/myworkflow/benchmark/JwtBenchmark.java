@@ -0,0 +1,61 @@
+package com.myworkflow.benchmark;
+
+import com.myworkflow.application.service.JwtService;
+import com.myworkflow.domain.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login and register, and the check JwtAuthenticationFilter runs on
+ * every authenticated request: extract the subject, then validate against the user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        // 256-bit key, same size as the one HS256 requires in production
+        ReflectionTestUtils.setField(jwtService, "secretKey", "am10LWJlbmNobWFyay1zZWNyZXQta2V5LTAxMjM0NTY3ODktYWJjZGVm");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+
+        user = User.builder()
+                .id(1L)
+                .email("jane.doe@example.com")
+                .firstName("Jane")
+                .lastName("Doe")
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        String username = jwtService.extractUsername(token);
+        return username != null && jwtService.isTokenValid(token, user);
+    }
+}
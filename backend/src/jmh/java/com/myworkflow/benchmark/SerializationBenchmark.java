@@ -0,0 +1,75 @@
+package com.myworkflow.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myworkflow.application.dto.response.ApiResponse;
+import com.myworkflow.application.dto.response.PaginatedResponse;
+import com.myworkflow.application.dto.response.TaskResponse;
+import com.myworkflow.domain.model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON writing of a task list page as the controllers return it, with the
+ * ObjectMapper defaults Spring Boot applies. Written to a discarding stream, as
+ * the message converter streams to the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<PaginatedResponse<TaskResponse>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskResponse> tasks = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            tasks.add(TaskResponse.builder()
+                    .id(100L + i)
+                    .title("Draft wireframes " + i)
+                    .description("Low fidelity wireframes for the three main pages, with notes for review")
+                    .dueDate(LocalDate.now().plusDays(i % 30))
+                    .status(TaskStatus.values()[i % TaskStatus.values().length])
+                    .overdue(i % 7 == 0)
+                    .projectId(10L)
+                    .projectTitle("Website redesign")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        response = ApiResponse.success(PaginatedResponse.of(tasks, 0, pageSize, 1_000, 1_000 / pageSize, false, true));
+    }
+
+    @Benchmark
+    public void taskPage() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+}
@@ -0,0 +1,423 @@
+package com.myworkflow.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Release gate: replays a mix of the main user journeys against a running backend,
+ * records every request latency in an HdrHistogram per scenario, and checks the
+ * percentiles against the objectives in src/loadtest/slo.properties.
+ *
+ * <pre>
+ * mvn -Ploadtest verify                                          # starts the backend, runs, stops it
+ * mvn -Ploadtest test-compile exec:exec@loadtest -Dloadtest.base-url=http://localhost:8080
+ * </pre>
+ *
+ * Each virtual user signs in once, creates a project, then loops over the scenarios
+ * by weight. With --pace-ms each user starts an iteration on a fixed schedule and
+ * latency counts from the scheduled start, so a stalled server is not hidden by
+ * users that stop sending (coordinated omission). Without it the loop is closed.
+ * Writes one .hgrm percentile file per scenario and summary.txt to --report-dir.
+ * With --enforce-slo true it exits with 1 when an objective is missed, or with
+ * --defer-failure leaves a slo-failed marker for a later --verify run, so the build
+ * can stop the backend first. Without it misses are only reported: the objectives
+ * are provisional until measured.
+ */
+public class LoadTestRunner {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final long HIGHEST_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final String FAILED_MARKER = "slo-failed";
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+    private final double totalWeight;
+
+    LoadTestRunner(String baseUrl, String mix, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Math.min(concurrency, 64))))
+                .build();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            scenarios.put(parts[0], new Scenario(parts[0], Double.parseDouble(parts[1])));
+        }
+        this.totalWeight = scenarios.values().stream().mapToDouble(Scenario::weight).sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "target/loadtest"));
+
+        if (options.containsKey("verify")) {
+            System.exit(verify(reportDir));
+        }
+
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("users", "50"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        long paceMillis = Long.parseLong(options.getOrDefault("pace-ms", "0"));
+        long thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "50"));
+        int datagenUsers = Integer.parseInt(options.getOrDefault("datagen-users", "0"));
+        // DatasetGenerator logs the first user id of its run, it is only 1 on an empty database
+        long datagenFirstId = Long.parseLong(options.getOrDefault("datagen-first-id", "1"));
+        String datagenPassword = options.getOrDefault("datagen-password", "password123");
+        String mix = options.getOrDefault("mix",
+                "login:5,dashboard:15,list-projects:15,list-tasks:30,create-task:20,complete-task:15");
+        Path sloFile = Path.of(options.getOrDefault("slo", "src/loadtest/slo.properties"));
+        boolean deferFailure = Boolean.parseBoolean(options.getOrDefault("defer-failure", "false"));
+        boolean enforce = Boolean.parseBoolean(options.getOrDefault("enforce-slo", "false"));
+
+        Files.createDirectories(reportDir);
+        Files.deleteIfExists(reportDir.resolve(FAILED_MARKER));
+        LoadTestRunner test = new LoadTestRunner(baseUrl, mix, concurrency);
+        Datagen datagen = datagenUsers > 0 ? new Datagen(datagenUsers, datagenFirstId, datagenPassword) : null;
+
+        List<String> breaches;
+        try {
+            breaches = test.run(concurrency, datagen, warmupSeconds, durationSeconds, paceMillis, thinkMillis,
+                    reportDir, load(sloFile));
+        } catch (Exception e) {
+            if (!deferFailure) {
+                throw e;
+            }
+            breaches = List.of("load test did not complete: " + e);
+        }
+
+        if (breaches.isEmpty()) {
+            System.out.println("All latency objectives met");
+            System.exit(0);
+        }
+
+        breaches.forEach(breach -> System.out.println("SLO missed: " + breach));
+        if (!enforce) {
+            System.out.println("Objectives are not enforced (--enforce-slo false), reporting only");
+            System.exit(0);
+        }
+        if (deferFailure) {
+            Files.write(reportDir.resolve(FAILED_MARKER), breaches);
+            System.exit(0);
+        }
+        System.exit(1);
+    }
+
+    private List<String> run(int concurrency, Datagen datagen, int warmupSeconds, int durationSeconds,
+                             long paceMillis, long thinkMillis, Path reportDir, Properties slo) throws Exception {
+        System.out.printf("Signing in %d virtual users against %s%n", concurrency, baseUrl);
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            users.add(signIn(i, datagen));
+        }
+
+        long start = System.nanoTime();
+        long warmupEnd = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> running = new ArrayList<>();
+        for (VirtualUser user : users) {
+            running.add(workers.submit(() -> loop(user, warmupEnd, end, paceMillis, thinkMillis)));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+        workers.shutdown();
+
+        return report(reportDir, durationSeconds, slo);
+    }
+
+    // Second half of a deferred run: fails when the load test left its marker
+    private static int verify(Path reportDir) throws IOException {
+        Path marker = reportDir.resolve(FAILED_MARKER);
+        if (!Files.exists(marker)) {
+            return 0;
+        }
+        Files.readAllLines(marker).forEach(breach -> System.out.println("SLO missed: " + breach));
+        return 1;
+    }
+
+    private VirtualUser signIn(int index, Datagen datagen) throws Exception {
+        String email;
+        String password;
+        String token;
+        if (datagen != null) {
+            // Users created by one datagen run, whose ids are consecutive
+            email = "user" + (datagen.firstId() + index % datagen.users()) + "@datagen.example.com";
+            password = datagen.password();
+            token = login(email, password);
+        } else {
+            email = "loadtest-" + UUID.randomUUID() + "@example.com";
+            password = "LoadTest123!";
+            HttpResponse<String> response = post("/api/auth/register", null, "{\"email\":\"" + email
+                    + "\",\"password\":\"" + password + "\",\"firstName\":\"Load\",\"lastName\":\"Test\"}");
+            token = extract(TOKEN, response, "Registration");
+        }
+
+        HttpResponse<String> project = post("/api/projects", token,
+                "{\"title\":\"Load test " + index + "\",\"description\":\"Created by the load test\"}");
+        return new VirtualUser(email, password, token, Long.parseLong(extract(ID, project, "Project creation")));
+    }
+
+    private void loop(VirtualUser user, long warmupEnd, long end, long paceMillis, long thinkMillis) {
+        long paceNanos = TimeUnit.MILLISECONDS.toNanos(paceMillis);
+        long scheduled = System.nanoTime();
+
+        while (scheduled < end) {
+            if (paceNanos > 0) {
+                sleepUntil(scheduled);
+            } else {
+                scheduled = System.nanoTime();
+            }
+
+            Scenario scenario = pick(user);
+            boolean ok;
+            try {
+                ok = run(scenario, user);
+            } catch (Exception e) {
+                ok = false;
+            }
+
+            if (scheduled >= warmupEnd) {
+                scenario.record(System.nanoTime() - scheduled, ok);
+            }
+
+            if (paceNanos > 0) {
+                scheduled += paceNanos;
+            } else {
+                sleepUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(thinkMillis));
+                scheduled = System.nanoTime();
+            }
+        }
+    }
+
+    private Scenario pick(VirtualUser user) {
+        double roll = ThreadLocalRandom.current().nextDouble() * totalWeight;
+        for (Scenario scenario : scenarios.values()) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                // Nothing to complete yet, create something instead
+                if (scenario.name().equals("complete-task") && user.openTasks.isEmpty()
+                        && scenarios.containsKey("create-task")) {
+                    return scenarios.get("create-task");
+                }
+                return scenario;
+            }
+        }
+        return scenarios.values().iterator().next();
+    }
+
+    private boolean run(Scenario scenario, VirtualUser user) throws Exception {
+        return switch (scenario.name()) {
+            case "login" -> {
+                user.token = login(user.email, user.password);
+                yield true;
+            }
+            case "dashboard" -> ok(get("/api/dashboard", user.token));
+            case "list-projects" -> ok(get("/api/projects?page=0&size=10", user.token));
+            case "list-tasks" -> ok(get("/api/tasks?page=0&size=20", user.token));
+            case "create-task" -> {
+                HttpResponse<String> response = post("/api/projects/" + user.projectId + "/tasks", user.token,
+                        "{\"title\":\"Load test task\",\"description\":\"Created by the load test\",\"dueDate\":\""
+                                + LocalDate.now().plusDays(7) + "\"}");
+                Matcher matcher = ID.matcher(response.body());
+                if (ok(response) && matcher.find()) {
+                    user.openTasks.add(Long.parseLong(matcher.group(1)));
+                    yield true;
+                }
+                yield false;
+            }
+            case "complete-task" -> {
+                Long taskId = user.openTasks.poll();
+                yield taskId != null && ok(send(HttpRequest.newBuilder(uri("/api/tasks/" + taskId + "/complete"))
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody()), user.token));
+            }
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario.name());
+        };
+    }
+
+    private List<String> report(Path reportDir, int durationSeconds, Properties slo) throws IOException {
+        List<String> breaches = new ArrayList<>();
+        double allowedErrors = Double.parseDouble(slo.getProperty("errors", "0.01"));
+
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(reportDir.resolve("summary.txt")))) {
+            String header = String.format("%-15s %9s %8s %8s %9s %9s %9s %9s %9s",
+                    "scenario", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+            System.out.println(header);
+            summary.println(header);
+
+            for (Scenario scenario : scenarios.values()) {
+                Histogram histogram = scenario.histogram;
+                long count = histogram.getTotalCount();
+                long errors = scenario.errors.sum();
+                String line = String.format("%-15s %9d %8.1f %8d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                        scenario.name(), count, (double) count / durationSeconds, errors,
+                        millis(histogram, 50), millis(histogram, 95), millis(histogram, 99),
+                        millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+                System.out.println(line);
+                summary.println(line);
+
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(reportDir.resolve(scenario.name() + ".hgrm")))) {
+                    // Microseconds recorded, milliseconds reported
+                    histogram.outputPercentileDistribution(hgrm, 1000.0);
+                }
+
+                if (count == 0) {
+                    continue;
+                }
+                for (String percentile : new String[]{"p95", "p99"}) {
+                    String objective = slo.getProperty(scenario.name() + "." + percentile);
+                    double measured = millis(histogram, Double.parseDouble(percentile.substring(1)));
+                    if (objective != null && measured > Double.parseDouble(objective)) {
+                        breaches.add(String.format("%s %s %.1f ms > %s ms", scenario.name(), percentile, measured, objective));
+                    }
+                }
+                if ((double) errors / count > allowedErrors) {
+                    breaches.add(String.format("%s errors %d of %d > %.2f%%", scenario.name(), errors, count, allowedErrors * 100));
+                }
+            }
+        }
+        return breaches;
+    }
+
+    private String login(String email, String password) throws Exception {
+        HttpResponse<String> response = post("/api/auth/login", null,
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}");
+        return extract(TOKEN, response, "Login");
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).GET(), token);
+    }
+
+    private HttpResponse<String> post(String path, String token, String json) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)), token);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request, String token) throws Exception {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static String extract(Pattern pattern, HttpResponse<String> response, String what) {
+        Matcher matcher = pattern.matcher(response.body());
+        if (!ok(response) || !matcher.find()) {
+            throw new IllegalStateException(what + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String key = args[i].replaceFirst("^--", "");
+            // --verify takes no value
+            if (key.equals("verify")) {
+                options.put(key, "true");
+            } else if (i + 1 < args.length) {
+                options.put(key, args[++i]);
+            }
+        }
+        return options;
+    }
+
+    private record Scenario(String name, double weight, Histogram histogram, LongAdder errors) {
+
+        Scenario(String name, double weight) {
+            this(name, weight, new ConcurrentHistogram(HIGHEST_MICROS, 3), new LongAdder());
+        }
+
+        void record(long latencyNanos, boolean ok) {
+            histogram.recordValue(Math.min(HIGHEST_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+    }
+
+    private static class VirtualUser {
+
+        private final String email;
+        private final String password;
+        private final long projectId;
+        private final Deque<Long> openTasks = new ArrayDeque<>();
+        private String token;
+
+        VirtualUser(String email, String password, String token, long projectId) {
+            this.email = email;
+            this.password = password;
+            this.token = token;
+            this.projectId = projectId;
+        }
+    }
+
+    private record Datagen(int users, long firstId, String password) {
+    }
+}
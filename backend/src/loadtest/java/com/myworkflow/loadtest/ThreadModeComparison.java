@@ -0,0 +1,206 @@
+package com.myworkflow.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load against a running backend, mixing slow dashboard reads with
+ * cheap profile reads so head-of-line blocking shows up in the cheap p99.
+ * JDK only, runs straight from source:
+ *
+ * <pre>
+ * java src/loadtest/java/com/myworkflow/loadtest/ThreadModeComparison.java \
+ *      --base-url http://localhost:8080 --label virtual --concurrency 400 --duration 60
+ * </pre>
+ *
+ * Start the backend with rate-limit.enabled=false, otherwise most requests are 429s.
+ */
+public class ThreadModeComparison {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        String label = options.getOrDefault("label", "run");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        double slowRatio = Double.parseDouble(options.getOrDefault("slow-ratio", "0.2"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+        String token = register(client, baseUrl);
+
+        Endpoint slow = new Endpoint("GET /api/dashboard", baseUrl + "/api/dashboard");
+        Endpoint cheap = new Endpoint("GET /api/users/me", baseUrl + "/api/users/me");
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Worker> running = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(client, token, slow, cheap, slowRatio, warmupEnd, end);
+            running.add(worker);
+            workers.submit(worker);
+        }
+        workers.shutdown();
+        workers.awaitTermination(warmupSeconds + durationSeconds + 120L, TimeUnit.SECONDS);
+
+        System.out.printf("%-10s %-20s %10s %10s %10s %10s %10s %8s%n",
+                "mode", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Endpoint endpoint : List.of(slow, cheap)) {
+            Samples merged = new Samples();
+            for (Worker worker : running) {
+                merged.addAll(worker.samples(endpoint));
+            }
+            merged.print(label, endpoint.name(), durationSeconds);
+        }
+    }
+
+    private static String register(HttpClient client, String baseUrl) throws Exception {
+        String email = "loadtest-" + UUID.randomUUID() + "@example.com";
+        String body = "{\"email\":\"" + email + "\",\"password\":\"LoadTest123!\","
+                + "\"firstName\":\"Load\",\"lastName\":\"Test\"}";
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Registration failed: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    private record Endpoint(String name, String url) {
+    }
+
+    private static class Worker implements Runnable {
+
+        private final HttpClient client;
+        private final String token;
+        private final Endpoint slow;
+        private final Endpoint cheap;
+        private final double slowRatio;
+        private final long warmupEnd;
+        private final long end;
+        private final Map<Endpoint, Samples> samples = new HashMap<>();
+
+        Worker(HttpClient client, String token, Endpoint slow, Endpoint cheap,
+               double slowRatio, long warmupEnd, long end) {
+            this.client = client;
+            this.token = token;
+            this.slow = slow;
+            this.cheap = cheap;
+            this.slowRatio = slowRatio;
+            this.warmupEnd = warmupEnd;
+            this.end = end;
+            samples.put(slow, new Samples());
+            samples.put(cheap, new Samples());
+        }
+
+        Samples samples(Endpoint endpoint) {
+            return samples.get(endpoint);
+        }
+
+        @Override
+        public void run() {
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                Endpoint endpoint = ThreadLocalRandom.current().nextDouble() < slowRatio ? slow : cheap;
+                boolean ok;
+                try {
+                    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(endpoint.url()))
+                                    .header("Authorization", "Bearer " + token)
+                                    .timeout(Duration.ofSeconds(30))
+                                    .GET()
+                                    .build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    ok = response.statusCode() == 200;
+                } catch (Exception e) {
+                    ok = false;
+                }
+
+                // Warmup requests load the JIT and the pools but are not recorded
+                if (now >= warmupEnd) {
+                    samples.get(endpoint).add(System.nanoTime() - now, ok);
+                }
+            }
+        }
+    }
+
+    private static class Samples {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void add(long latencyNanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        void print(String label, String endpoint, int durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-10s %-20s %10d %10.1f %10.1f %10.1f %10.1f %8d%n",
+                    label, endpoint, count, (double) count / durationSeconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(count > 0 ? sorted[count - 1] : 0), errors);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
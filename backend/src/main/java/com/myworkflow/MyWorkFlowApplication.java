@@ -4,11 +4,19 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import java.util.Map;
+
 @SpringBootApplication
 @EnableJpaAuditing
 public class MyWorkFlowApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(MyWorkFlowApplication.class, args);
+        SpringApplication application = new SpringApplication(MyWorkFlowApplication.class);
+        // Scrapes get their own port so they never queue behind API traffic; .env can override both
+        application.setDefaultProperties(Map.of(
+                "management.server.port", "8081",
+                "management.endpoints.web.exposure.include", "health,prometheus"
+        ));
+        application.run(args);
     }
 }
\ No newline at end of file
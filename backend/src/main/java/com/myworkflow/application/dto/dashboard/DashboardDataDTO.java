@@ -19,6 +19,7 @@ public class DashboardDataDTO {
     private Long totalTasks;
     private Long completedTasks;
     private Long tasksWithDeadlines;
+    private Long archivedTasks;
 
     private Long taskId;
     private String taskTitle;
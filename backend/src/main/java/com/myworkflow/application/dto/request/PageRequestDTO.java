@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
+import java.util.Locale;
+
 @Data
 @SuperBuilder
 @NoArgsConstructor
@@ -28,4 +30,21 @@ public class PageRequestDTO {
     private String sortDirection = "desc";
 
     private String search;
+
+    // Truncate list descriptions to this many characters server-side, full text when absent
+    @Min(value = 0, message = "Description length must be greater than or equal to 0")
+    private Integer descriptionLength;
+
+    // "Untruncated" stays well below Integer.MAX_VALUE so start + length in SUBSTRING cannot overflow
+    public int effectiveDescriptionLength() {
+        return descriptionLength != null ? descriptionLength : Integer.MAX_VALUE / 2;
+    }
+
+    // Lowercased LIKE pattern for the search term, null without one. Queries compare it with
+    // a column, which gives the parameter a type even when it is null
+    public String searchPattern() {
+        return search != null && !search.trim().isEmpty()
+                ? "%" + search.trim().toLowerCase(Locale.ROOT) + "%"
+                : null;
+    }
 }
\ No newline at end of file
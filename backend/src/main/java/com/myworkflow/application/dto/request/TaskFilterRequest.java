@@ -26,4 +26,7 @@ public class TaskFilterRequest extends PageRequestDTO {
     private LocalDate dueDate;
 
     private Boolean overdue;
+
+    // Also list DONE tasks moved to the archive
+    private Boolean includeArchived;
 }
\ No newline at end of file
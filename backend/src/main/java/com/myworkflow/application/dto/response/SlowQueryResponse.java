@@ -0,0 +1,32 @@
+package com.myworkflow.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryResponse {
+
+    private String sql;
+    private String repositoryMethod;
+    private long count;
+    private double maxMillis;
+    private double meanMillis;
+    private LocalDateTime firstSeen;
+    private LocalDateTime lastSeen;
+
+    // Bound values of the slowest execution
+    private List<String> parameters;
+    private String lastError;
+
+    // EXPLAIN (ANALYZE, BUFFERS) output of a sampled execution, null until one ran
+    private String plan;
+    private LocalDateTime planCapturedAt;
+}
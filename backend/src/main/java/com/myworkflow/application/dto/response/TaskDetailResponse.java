@@ -24,6 +24,7 @@ public class TaskDetailResponse {
     private ProjectResponse project;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private boolean archived;
 
     @Data
     @Builder
@@ -25,4 +25,5 @@ public class TaskResponse {
     private String projectTitle;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private boolean archived;
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -18,6 +19,8 @@ public class UserProfileResponse {
     private String firstName;
     private String lastName;
     private String profileImageUrl;
+    // Square resized copies keyed by edge length in pixels, empty until generated
+    private Map<Integer, String> profileImageVariants;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
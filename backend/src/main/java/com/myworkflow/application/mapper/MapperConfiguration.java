@@ -0,0 +1,17 @@
+package com.myworkflow.application.mapper;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Shared settings for the generated mappers. Every target property has to be
+ * mapped or explicitly ignored, so a new DTO field fails the build instead of
+ * silently staying null.
+ */
+@MapperConfig(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        unmappedTargetPolicy = ReportingPolicy.ERROR
+)
+public interface MapperConfiguration {
+}
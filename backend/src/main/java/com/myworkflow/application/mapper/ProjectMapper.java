@@ -0,0 +1,27 @@
+package com.myworkflow.application.mapper;
+
+import com.myworkflow.application.dto.response.ProjectDetailResponse;
+import com.myworkflow.application.dto.response.ProjectResponse;
+import com.myworkflow.domain.model.Project;
+import com.myworkflow.domain.repository.projection.ProjectSummary;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+// Task statistics come from separate queries and are set by ProjectService
+@Mapper(config = MapperConfiguration.class, uses = UserMapper.class)
+public interface ProjectMapper {
+
+    @Mapping(target = "totalTasks", ignore = true)
+    @Mapping(target = "completedTasks", ignore = true)
+    @Mapping(target = "progressPercentage", ignore = true)
+    ProjectResponse toResponse(Project project);
+
+    @Mapping(target = "progressPercentage", expression = "java(summary.progressPercentage())")
+    ProjectResponse toResponse(ProjectSummary summary);
+
+    @Mapping(target = "owner", source = "user")
+    @Mapping(target = "totalTasks", ignore = true)
+    @Mapping(target = "completedTasks", ignore = true)
+    @Mapping(target = "progressPercentage", ignore = true)
+    ProjectDetailResponse toDetailResponse(Project project);
+}
@@ -0,0 +1,32 @@
+package com.myworkflow.application.mapper;
+
+import com.myworkflow.application.dto.response.TaskDetailResponse;
+import com.myworkflow.application.dto.response.TaskResponse;
+import com.myworkflow.domain.model.ArchivedTask;
+import com.myworkflow.domain.model.Project;
+import com.myworkflow.domain.model.Task;
+import com.myworkflow.domain.repository.projection.TaskSummary;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperConfiguration.class)
+public interface TaskMapper {
+
+    @Mapping(target = "projectId", source = "project.id")
+    @Mapping(target = "projectTitle", source = "project.title")
+    @Mapping(target = "archived", ignore = true)
+    TaskResponse toResponse(Task task);
+
+    @Mapping(target = "overdue", expression = "java(summary.overdue())")
+    TaskResponse toResponse(TaskSummary summary);
+
+    @Mapping(target = "archived", ignore = true)
+    TaskDetailResponse toDetailResponse(Task task);
+
+    // Archived tasks are DONE, so never overdue
+    @Mapping(target = "overdue", constant = "false")
+    @Mapping(target = "archived", constant = "true")
+    TaskDetailResponse toDetailResponse(ArchivedTask task);
+
+    TaskDetailResponse.ProjectResponse toDetailProject(Project project);
+}
@@ -0,0 +1,20 @@
+package com.myworkflow.application.mapper;
+
+import com.myworkflow.application.dto.response.AuthResponse;
+import com.myworkflow.application.dto.response.ProjectDetailResponse;
+import com.myworkflow.application.dto.response.UserProfileResponse;
+import com.myworkflow.domain.model.User;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperConfiguration.class)
+public interface UserMapper {
+
+    AuthResponse.UserResponse toAuthUser(User user);
+
+    ProjectDetailResponse.UserResponse toOwner(User user);
+
+    // Variants depend on the blob store and are filled in by UserService
+    @Mapping(target = "profileImageVariants", ignore = true)
+    UserProfileResponse toProfileResponse(User user);
+}
@@ -3,12 +3,12 @@ package com.myworkflow.application.service;
 import com.myworkflow.application.dto.request.LoginRequest;
 import com.myworkflow.application.dto.request.RegisterRequest;
 import com.myworkflow.application.dto.response.AuthResponse;
+import com.myworkflow.application.mapper.UserMapper;
 import com.myworkflow.domain.model.User;
 import com.myworkflow.domain.repository.UserRepository;
 import com.myworkflow.infrastructure.exception.AuthenticationException;
 import com.myworkflow.infrastructure.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,7 +23,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -49,7 +49,7 @@ public class AuthService {
         return AuthResponse.builder()
                 .token(token)
                 .tokenType("Bearer")
-                .user(modelMapper.map(user, AuthResponse.UserResponse.class))
+                .user(userMapper.toAuthUser(user))
                 .build();
     }
 
@@ -73,7 +73,7 @@ public class AuthService {
         return AuthResponse.builder()
                 .token(token)
                 .tokenType("Bearer")
-                .user(modelMapper.map(user, AuthResponse.UserResponse.class))
+                .user(userMapper.toAuthUser(user))
                 .build();
     }
 
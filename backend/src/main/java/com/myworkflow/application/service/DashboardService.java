@@ -3,6 +3,10 @@ package com.myworkflow.application.service;
 import com.myworkflow.application.dto.dashboard.DashboardDataDTO;
 import com.myworkflow.application.dto.response.*;
 import com.myworkflow.domain.model.*;
+import com.myworkflow.infrastructure.metrics.RequestRows;
+import com.myworkflow.infrastructure.metrics.ServerTiming;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
@@ -25,6 +29,11 @@ public class DashboardService {
     @PersistenceContext
     private EntityManager entityManager;
 
+    // One row per task, or per project without tasks
+    private final DistributionSummary dashboardRows = DistributionSummary.builder("dashboard.rows")
+            .description("Rows returned by the dashboard query")
+            .register(Metrics.globalRegistry);
+
     @Transactional(readOnly = true)
     public DashboardResponse getDashboardData(User user) {
         long startTime = System.currentTimeMillis();
@@ -112,12 +121,14 @@ public class DashboardService {
                     p.description as project_description,
                     p.created_at as project_created_at,
                     p.updated_at as project_updated_at,
-                    COUNT(t.id) as total_tasks,
-                    SUM(CASE WHEN t.status = 'DONE' THEN 1 ELSE 0 END) as completed_tasks,
+                    COUNT(t.id) + COALESCE(MAX(ac.task_count), 0) as total_tasks,
+                    SUM(CASE WHEN t.status = 'DONE' THEN 1 ELSE 0 END) + COALESCE(MAX(ac.task_count), 0) as completed_tasks,
                     SUM(CASE WHEN t.due_date IS NOT NULL THEN 1 ELSE 0 END) as tasks_with_deadlines,
-                    MAX(t.due_date) as max_due_date
+                    MAX(t.due_date) as max_due_date,
+                    COALESCE(MAX(ac.task_count), 0) as archived_tasks
                 FROM projects p
                 LEFT JOIN tasks t ON p.id = t.project_id
+                LEFT JOIN archived_task_counts ac ON ac.project_id = p.id
                 WHERE p.user_id = :userId
                 GROUP BY p.id, p.title, p.description, p.created_at, p.updated_at
             ),
@@ -154,7 +165,8 @@ public class DashboardService {
                 td.task_status,
                 td.task_created_at,
                 td.task_updated_at,
-                td.is_overdue
+                td.is_overdue,
+                ps.archived_tasks
             FROM project_stats ps
             LEFT JOIN task_details td ON ps.project_id = td.project_id
             ORDER BY ps.project_created_at DESC, td.task_due_date ASC NULLS LAST
@@ -164,9 +176,13 @@ public class DashboardService {
             Query query = entityManager.createNativeQuery(sql);
             query.setParameter("userId", userId);
 
+            long start = System.nanoTime();
             @SuppressWarnings("unchecked")
             List<Object[]> result = query.getResultList();
+            ServerTiming.recordDatabaseCall(System.nanoTime() - start, 1);
             log.debug("Retrieved {} rows for user {}", result.size(), userId);
+            dashboardRows.record(result.size());
+            RequestRows.record(result.size());
             return result;
         } catch (Exception e) {
             log.error("Error executing dashboard query for user {}: {}", userId, e.getMessage(), e);
@@ -191,6 +207,7 @@ public class DashboardService {
                                 .totalTasks(row[5] != null ? ((Number) row[5]).longValue() : 0L)
                                 .completedTasks(row[6] != null ? ((Number) row[6]).longValue() : 0L)
                                 .tasksWithDeadlines(row[7] != null ? ((Number) row[7]).longValue() : 0L)
+                                .archivedTasks(row[16] != null ? ((Number) row[16]).longValue() : 0L)
                                 .build();
 
                         // Ajouter les données de tâche si présentes
@@ -318,6 +335,14 @@ public class DashboardService {
                 .filter(Task::isOverdue)
                 .count();
 
+        // Archived tasks are not loaded, only counted, and they are all DONE
+        long archivedTasks = projectsMap.values().stream()
+                .map(projectData -> projectData.get(0))
+                .mapToLong(project -> project.getArchivedTasks() != null ? project.getArchivedTasks() : 0L)
+                .sum();
+        totalTasks += archivedTasks;
+        completedTasks += archivedTasks;
+
         // Progress Statistics
         double averageProjectProgress = projectsMap.values().stream()
                 .map(projectData -> projectData.get(0))
@@ -343,6 +368,7 @@ public class DashboardService {
         // Distributions
         Map<String, Long> projectProgressDistribution = calculateProjectProgressDistributionOptimized(projectsMap);
         Map<String, Long> taskStatusDistribution = calculateTaskStatusDistribution(allTasks);
+        taskStatusDistribution.merge("DONE", archivedTasks, Long::sum);
 
         // Recent Activities
         List<StatsResponse.RecentActivity> recentActivities = getRecentActivitiesOptimized(projectsMap, allTasks);
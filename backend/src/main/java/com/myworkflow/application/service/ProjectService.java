@@ -6,14 +6,19 @@ import com.myworkflow.application.dto.request.UpdateProjectRequest;
 import com.myworkflow.application.dto.response.PaginatedResponse;
 import com.myworkflow.application.dto.response.ProjectDetailResponse;
 import com.myworkflow.application.dto.response.ProjectResponse;
+import com.myworkflow.application.mapper.ProjectMapper;
 import com.myworkflow.domain.model.Project;
 import com.myworkflow.domain.model.User;
+import com.myworkflow.domain.repository.ArchivedTaskRepository;
 import com.myworkflow.domain.repository.ProjectRepository;
 import com.myworkflow.domain.repository.TaskRepository;
+import com.myworkflow.domain.repository.projection.ProjectSummary;
+import com.myworkflow.domain.repository.projection.TaskCounts;
 import com.myworkflow.infrastructure.exception.ResourceNotFoundException;
 import com.myworkflow.infrastructure.exception.UnauthorizedException;
+import com.myworkflow.infrastructure.metrics.RequestRows;
+import com.myworkflow.infrastructure.security.ProjectOwnershipIndex;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -30,7 +35,9 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
-    private final ModelMapper modelMapper;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ProjectMapper projectMapper;
+    private final ProjectOwnershipIndex projectOwnershipIndex;
     private final AuthService authService;
 
     @Transactional
@@ -42,6 +49,8 @@ public class ProjectService {
                 .build();
 
         project = projectRepository.save(project);
+        projectOwnershipIndex.onProjectCreated(project.getId(), user.getId());
+
         return mapToProjectResponse(project);
     }
 
@@ -50,21 +59,18 @@ public class ProjectService {
             User user,
             PageRequestDTO pageRequest
     ) {
-        Pageable pageable = createPageable(pageRequest);
-        Page<Project> projectsPage;
-
-        if (pageRequest.getSearch() != null && !pageRequest.getSearch().trim().isEmpty()) {
-            projectsPage = projectRepository.findByUserAndSearch(
-                    user,
-                    pageRequest.getSearch().trim(),
-                    pageable
-            );
-        } else {
-            projectsPage = projectRepository.findByUser(user, pageable);
-        }
+        // Projection read with task counts inline, no entities and no per-project count queries
+        Page<ProjectSummary> projectsPage = projectRepository.findSummaries(
+                user.getId(),
+                pageRequest.searchPattern(),
+                pageRequest.effectiveDescriptionLength(),
+                createPageable(pageRequest)
+        );
+
+        RequestRows.record(projectsPage.getTotalElements());
 
         List<ProjectResponse> projects = projectsPage.getContent().stream()
-                .map(this::mapToProjectResponse)
+                .map(projectMapper::toResponse)
                 .collect(Collectors.toList());
 
         return PaginatedResponse.of(
@@ -80,7 +86,7 @@ public class ProjectService {
 
     @Transactional(readOnly = true)
     public ProjectDetailResponse getProjectById(Long projectId, User user) {
-        Project project = projectRepository.findById(projectId)
+        Project project = projectRepository.findWithOwnerById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
 
         // Check if user owns the project
@@ -97,38 +103,48 @@ public class ProjectService {
             User user,
             UpdateProjectRequest request
     ) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+        // Load through the second-level cache and let dirty checking write the row; a bulk
+        // UPDATE would evict the whole projects region
+        Project project = findOwnedProject(projectId, user, "You are not authorized to update this project");
 
-        // Check if user owns the project
-        if (!project.getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You are not authorized to update this project");
-        }
-
-        // Update fields if provided
         if (request.getTitle() != null) {
             project.setTitle(request.getTitle());
         }
-
         if (request.getDescription() != null) {
             project.setDescription(request.getDescription());
         }
+        // Flush now so the response carries the new updatedAt
+        ProjectResponse response = projectMapper.toResponse(projectRepository.saveAndFlush(project));
 
-        project = projectRepository.save(project);
-        return mapToProjectResponse(project);
+        TaskCounts counts = taskRepository.countByProjectId(projectId);
+        response.setTotalTasks(counts.totalTasks());
+        response.setCompletedTasks(counts.completedTasks());
+        response.setProgressPercentage(counts.progressPercentage());
+
+        return response;
     }
 
     @Transactional
     public void deleteProject(Long projectId, User user) {
+        Project project = findOwnedProject(projectId, user, "You are not authorized to delete this project");
+
+        // Tasks first for the foreign key, then the entity so only its own cache entry is evicted
+        taskRepository.deleteOwnedByProjectId(projectId, user.getId());
+        archivedTaskRepository.deleteByProjectId(projectId);
+        archivedTaskRepository.deleteCountByProjectId(projectId);
+        projectRepository.delete(project);
+        projectOwnershipIndex.onProjectDeleted(projectId);
+    }
+
+    private Project findOwnedProject(Long projectId, User user, String message) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
 
-        // Check if user owns the project
+        // The owner id is part of the cached state, reading it does not initialize the proxy
         if (!project.getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You are not authorized to delete this project");
+            throw new UnauthorizedException(message);
         }
-
-        projectRepository.delete(project);
+        return project;
     }
 
     private Pageable createPageable(PageRequestDTO pageRequest) {
@@ -143,47 +159,26 @@ public class ProjectService {
     }
 
     private ProjectResponse mapToProjectResponse(Project project) {
-        ProjectResponse response = modelMapper.map(project, ProjectResponse.class);
+        ProjectResponse response = projectMapper.toResponse(project);
 
-        // Calculate task statistics
-        long totalTasks = taskRepository.countByProject(project);
-        long completedTasks = taskRepository.countByProjectAndStatus(
-                project,
-                com.myworkflow.domain.model.TaskStatus.DONE
-        );
-
-        double progressPercentage = totalTasks > 0
-                ? (double) completedTasks / totalTasks * 100
-                : 0.0;
-
-        response.setTotalTasks(totalTasks);
-        response.setCompletedTasks(completedTasks);
-        response.setProgressPercentage(Math.round(progressPercentage * 100.0) / 100.0);
+        // Only used for freshly created projects, which have no tasks yet
+        response.setTotalTasks(0L);
+        response.setCompletedTasks(0L);
+        response.setProgressPercentage(0.0);
 
         return response;
     }
 
     private ProjectDetailResponse mapToProjectDetailResponse(Project project) {
-        ProjectDetailResponse response = modelMapper.map(project, ProjectDetailResponse.class);
-
-        // Map owner
-        response.setOwner(modelMapper.map(project.getUser(), ProjectDetailResponse.UserResponse.class));
+        ProjectDetailResponse response = projectMapper.toDetailResponse(project);
 
         // Calculate task statistics
-        long totalTasks = taskRepository.countByProject(project);
-        long completedTasks = taskRepository.countByProjectAndStatus(
-                project,
-                com.myworkflow.domain.model.TaskStatus.DONE
-        );
-
-        double progressPercentage = totalTasks > 0
-                ? (double) completedTasks / totalTasks * 100
-                : 0.0;
+        TaskCounts counts = taskRepository.countByProjectId(project.getId());
 
-        response.setTotalTasks(totalTasks);
-        response.setCompletedTasks(completedTasks);
-        response.setProgressPercentage(Math.round(progressPercentage * 100.0) / 100.0);
+        response.setTotalTasks(counts.totalTasks());
+        response.setCompletedTasks(counts.completedTasks());
+        response.setProgressPercentage(counts.progressPercentage());
 
         return response;
     }
-}
\ No newline at end of file
+}
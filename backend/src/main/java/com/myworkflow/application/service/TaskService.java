@@ -6,16 +6,23 @@ import com.myworkflow.application.dto.request.UpdateTaskRequest;
 import com.myworkflow.application.dto.response.PaginatedResponse;
 import com.myworkflow.application.dto.response.TaskDetailResponse;
 import com.myworkflow.application.dto.response.TaskResponse;
+import com.myworkflow.application.mapper.TaskMapper;
+import com.myworkflow.domain.model.ArchivedTask;
 import com.myworkflow.domain.model.Project;
 import com.myworkflow.domain.model.Task;
 import com.myworkflow.domain.model.TaskStatus;
 import com.myworkflow.domain.model.User;
+import com.myworkflow.domain.repository.ArchivedTaskRepository;
 import com.myworkflow.domain.repository.ProjectRepository;
 import com.myworkflow.domain.repository.TaskRepository;
+import com.myworkflow.domain.repository.projection.TaskSummary;
+import com.myworkflow.infrastructure.exception.ConflictException;
 import com.myworkflow.infrastructure.exception.ResourceNotFoundException;
 import com.myworkflow.infrastructure.exception.UnauthorizedException;
+import com.myworkflow.infrastructure.metrics.RequestRows;
+import com.myworkflow.infrastructure.security.ProjectOwnershipIndex;
+import com.myworkflow.infrastructure.security.TaskProjectIndex;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,7 +31,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,13 +43,16 @@ public class TaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
-    private final ModelMapper modelMapper;
-    private final ProgressService progressService;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskMapper taskMapper;
+    private final ProjectOwnershipIndex projectOwnershipIndex;
+    private final TaskProjectIndex taskProjectIndex;
 
     @Transactional
     public TaskResponse createTask(Long projectId, User user, CreateTaskRequest request) {
-        // Get project and verify ownership
-        Project project = getProjectAndVerifyOwnership(projectId, user);
+        // Verify ownership, the task only needs a reference for its foreign key
+        verifyProjectOwnership(projectId, user);
+        Project project = projectRepository.getReferenceById(projectId);
 
         // Create task
         Task task = Task.builder()
@@ -51,9 +64,7 @@ public class TaskService {
                 .build();
 
         task = taskRepository.save(task);
-
-        // Update project progress
-        progressService.updateProjectProgress(project.getId());
+        taskProjectIndex.onTaskCreated(task.getId(), projectId);
 
         return mapToTaskResponse(task);
     }
@@ -64,185 +75,186 @@ public class TaskService {
             User user,
             TaskFilterRequest filterRequest
     ) {
-        // Get project and verify ownership
-        Project project = getProjectAndVerifyOwnership(projectId, user);
-
-        Pageable pageable = createPageable(filterRequest);
-        Page<Task> tasksPage;
-
-        if (filterRequest.getStatus() != null || filterRequest.getDueDate() != null) {
-            // Use filter method
-            tasksPage = taskRepository.findByProjectAndFilters(
-                    project,
-                    filterRequest.getStatus(),
-                    filterRequest.getDueDate(),
-                    pageable
-            );
-        } else if (filterRequest.getSearch() != null && !filterRequest.getSearch().trim().isEmpty()) {
-            // Use search method
-            tasksPage = taskRepository.findByProjectAndSearch(
-                    project,
-                    filterRequest.getSearch().trim(),
-                    pageable
-            );
-        } else {
-            // Get all tasks
-            tasksPage = taskRepository.findByProject(project, pageable);
-        }
-
-        // Apply overdue filter if requested
-        if (Boolean.TRUE.equals(filterRequest.getOverdue())) {
-            List<Task> overdueTasks = tasksPage.getContent().stream()
-                    .filter(Task::isOverdue)
-                    .collect(Collectors.toList());
-
-            return PaginatedResponse.of(
-                    overdueTasks.stream()
-                            .map(this::mapToTaskResponse)
-                            .collect(Collectors.toList()),
-                    tasksPage.getNumber(),
-                    tasksPage.getSize(),
-                    overdueTasks.size(),
-                    (int) Math.ceil((double) overdueTasks.size() / tasksPage.getSize()),
-                    tasksPage.isLast(),
-                    tasksPage.isFirst()
-            );
-        }
-
-        List<TaskResponse> tasks = tasksPage.getContent().stream()
-                .map(this::mapToTaskResponse)
-                .collect(Collectors.toList());
+        verifyProjectOwnership(projectId, user);
 
-        return PaginatedResponse.of(
-                tasks,
-                tasksPage.getNumber(),
-                tasksPage.getSize(),
-                tasksPage.getTotalElements(),
-                tasksPage.getTotalPages(),
-                tasksPage.isLast(),
-                tasksPage.isFirst()
-        );
+        return findTaskSummaries(user, projectId, filterRequest);
     }
 
     @Transactional(readOnly = true)
     public TaskDetailResponse getTaskById(Long taskId, User user) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
-
-        // Verify project ownership
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You are not authorized to access this task");
+        String message = "You are not authorized to access this task";
+        OptionalLong projectId = findOwnedTask(taskId, user, message);
+
+        Optional<Task> task = projectId.isPresent()
+                ? taskRepository.findWithProjectById(taskId, projectId.getAsLong())
+                : Optional.empty();
+        if (task.isPresent()) {
+            return mapToTaskDetailResponse(task.get());
         }
 
-        return mapToTaskDetailResponse(task);
+        // Listings with includeArchived return archived ids, so they stay readable here
+        ArchivedTask archived = archivedTaskRepository.findWithProjectById(taskId)
+                .orElseThrow(() -> taskNotFound(taskId));
+        if (!archived.getProject().getUser().getId().equals(user.getId())) {
+            throw new UnauthorizedException(message);
+        }
+        return taskMapper.toDetailResponse(archived);
     }
 
     @Transactional
     public TaskResponse updateTask(Long taskId, User user, UpdateTaskRequest request) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
-
-        // Verify project ownership
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You are not authorized to update this task");
-        }
-
-        // Update fields if provided
-        if (request.getTitle() != null) {
-            task.setTitle(request.getTitle());
-        }
-
-        if (request.getDescription() != null) {
-            task.setDescription(request.getDescription());
-        }
-
-        if (request.getDueDate() != null) {
-            task.setDueDate(request.getDueDate());
-        }
-
-        if (request.getStatus() != null) {
-            task.setStatus(request.getStatus());
+        String message = "You are not authorized to update this task";
+        long projectId = locateOwnedTask(taskId, user, message);
+
+        // Null fields are left unchanged by the statement
+        int updated = taskRepository.updateOwned(
+                taskId,
+                projectId,
+                user.getId(),
+                request.getTitle(),
+                request.getDescription(),
+                request.getDueDate(),
+                request.getStatus(),
+                LocalDateTime.now()
+        );
+        if (updated == 0) {
+            throw missingTask(taskId, user, message);
         }
 
-        task = taskRepository.save(task);
-
-        // Update project progress
-        progressService.updateProjectProgress(task.getProject().getId());
-
-        return mapToTaskResponse(task);
+        return findTaskResponse(taskId, projectId);
     }
 
     @Transactional
     public TaskResponse markTaskAsCompleted(Long taskId, User user) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        String message = "You are not authorized to update this task";
+        long projectId = locateOwnedTask(taskId, user, message);
 
-        // Verify project ownership
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You are not authorized to update this task");
+        int updated = taskRepository.updateOwned(
+                taskId, projectId, user.getId(), null, null, null, TaskStatus.DONE, LocalDateTime.now());
+        if (updated == 0) {
+            throw missingTask(taskId, user, message);
         }
 
-        // Mark as completed
-        task.markAsCompleted();
-        task = taskRepository.save(task);
-
-        // Update project progress
-        progressService.updateProjectProgress(task.getProject().getId());
-
-        return mapToTaskResponse(task);
+        return findTaskResponse(taskId, projectId);
     }
 
     @Transactional
     public void deleteTask(Long taskId, User user) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        String message = "You are not authorized to delete this task";
+        long projectId = locateOwnedTask(taskId, user, message);
 
-        // Verify project ownership
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You are not authorized to delete this task");
+        if (taskRepository.deleteOwned(taskId, projectId, user.getId()) == 0) {
+            throw missingTask(taskId, user, message);
         }
-
-        Long projectId = task.getProject().getId();
-        taskRepository.delete(task);
-
-        // Update project progress
-        progressService.updateProjectProgress(projectId);
+        taskProjectIndex.onTaskDeleted(taskId);
     }
 
     @Transactional(readOnly = true)
     public PaginatedResponse<TaskResponse> getUserTasks(User user, TaskFilterRequest filterRequest) {
+        return findTaskSummaries(user, null, filterRequest);
+    }
+
+    // Projection read: rows go straight into DTOs, nothing enters the persistence context
+    private PaginatedResponse<TaskResponse> findTaskSummaries(
+            User user,
+            Long projectId,
+            TaskFilterRequest filterRequest
+    ) {
+        Long userId = user.getId();
+        TaskStatus status = filterRequest.getStatus();
+        LocalDate dueDate = filterRequest.getDueDate();
+        String searchPattern = filterRequest.searchPattern();
+        boolean overdue = Boolean.TRUE.equals(filterRequest.getOverdue());
+        int descriptionLength = filterRequest.effectiveDescriptionLength();
         Pageable pageable = createPageable(filterRequest);
-        Page<Task> tasksPage = taskRepository.findAll(pageable);
 
-        // Filter tasks by user ownership
-        List<Task> userTasks = tasksPage.getContent().stream()
-                .filter(task -> task.getProject().getUser().getId().equals(user.getId()))
-                .collect(Collectors.toList());
+        // The archive is only read when asked for, live listings never touch it. Per-project
+        // and user-wide listings are separate statements so the first keeps its partition key
+        Page<TaskSummary> tasksPage;
+        if (Boolean.TRUE.equals(filterRequest.getIncludeArchived())) {
+            tasksPage = projectId != null
+                    ? taskRepository.findSummariesIncludingArchived(
+                            userId, projectId, status, dueDate, searchPattern, overdue, descriptionLength, pageable)
+                    : taskRepository.findUserSummariesIncludingArchived(
+                            userId, status, dueDate, searchPattern, overdue, descriptionLength, pageable);
+        } else {
+            tasksPage = projectId != null
+                    ? taskRepository.findSummaries(
+                            userId, projectId, status, dueDate, searchPattern, overdue, descriptionLength, pageable)
+                    : taskRepository.findUserSummaries(
+                            userId, status, dueDate, searchPattern, overdue, descriptionLength, pageable);
+        }
+
+        RequestRows.record(tasksPage.getTotalElements());
 
-        List<TaskResponse> tasks = userTasks.stream()
-                .map(this::mapToTaskResponse)
+        List<TaskResponse> tasks = tasksPage.getContent().stream()
+                .map(taskMapper::toResponse)
                 .collect(Collectors.toList());
 
         return PaginatedResponse.of(
                 tasks,
                 tasksPage.getNumber(),
                 tasksPage.getSize(),
-                userTasks.size(),
-                (int) Math.ceil((double) userTasks.size() / tasksPage.getSize()),
+                tasksPage.getTotalElements(),
+                tasksPage.getTotalPages(),
                 tasksPage.isLast(),
                 tasksPage.isFirst()
         );
     }
 
-    private Project getProjectAndVerifyOwnership(Long projectId, User user) {
-        Project project = projectRepository.findById(projectId)
+    private TaskResponse findTaskResponse(Long taskId, long projectId) {
+        return taskRepository.findSummaryById(taskId, projectId)
+                .map(taskMapper::toResponse)
+                .orElseThrow(() -> taskNotFound(taskId));
+    }
+
+    private long locateOwnedTask(Long taskId, User user, String message) {
+        return findOwnedTask(taskId, user, message)
+                .orElseThrow(() -> missingTask(taskId, user, message));
+    }
+
+    // Project of the task, which every task statement needs as its partition key, checked
+    // against the caller from the two in-memory indexes. Statements stay ownership-guarded,
+    // so a stale entry on another node only turns into a not found.
+    private OptionalLong findOwnedTask(Long taskId, User user, String message) {
+        OptionalLong projectId = taskProjectIndex.findProjectId(taskId);
+        if (projectId.isEmpty()) {
+            return projectId;
+        }
+        long ownerId = projectOwnershipIndex.findOwnerId(projectId.getAsLong())
+                .orElseThrow(() -> taskNotFound(taskId));
+
+        if (ownerId != user.getId()) {
+            throw new UnauthorizedException(message);
+        }
+        return projectId;
+    }
+
+    // A write that found no live task. Archived tasks are read-only but still listed with
+    // includeArchived, so their owner gets a conflict that says so instead of a not found.
+    private RuntimeException missingTask(Long taskId, User user, String message) {
+        Optional<Long> ownerId = archivedTaskRepository.findOwnerIdById(taskId);
+        if (ownerId.isEmpty()) {
+            return taskNotFound(taskId);
+        }
+        if (!ownerId.get().equals(user.getId())) {
+            return new UnauthorizedException(message);
+        }
+        return new ConflictException("Task " + taskId + " is archived and can no longer be changed");
+    }
+
+    private static ResourceNotFoundException taskNotFound(Long taskId) {
+        return new ResourceNotFoundException("Task not found with id: " + taskId);
+    }
+
+    // Memory lookup in the ownership index, the database is only asked on a miss
+    private void verifyProjectOwnership(Long projectId, User user) {
+        long ownerId = projectOwnershipIndex.findOwnerId(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
 
-        if (!project.getUser().getId().equals(user.getId())) {
+        if (ownerId != user.getId()) {
             throw new UnauthorizedException("You are not authorized to access this project");
         }
-
-        return project;
     }
 
     private Pageable createPageable(TaskFilterRequest filterRequest) {
@@ -257,17 +269,10 @@ public class TaskService {
     }
 
     private TaskResponse mapToTaskResponse(Task task) {
-        TaskResponse response = modelMapper.map(task, TaskResponse.class);
-        response.setProjectId(task.getProject().getId());
-        response.setProjectTitle(task.getProject().getTitle());
-        response.setOverdue(task.isOverdue());
-        return response;
+        return taskMapper.toResponse(task);
     }
 
     private TaskDetailResponse mapToTaskDetailResponse(Task task) {
-        TaskDetailResponse response = modelMapper.map(task, TaskDetailResponse.class);
-        response.setOverdue(task.isOverdue());
-        response.setProject(modelMapper.map(task.getProject(), TaskDetailResponse.ProjectResponse.class));
-        return response;
+        return taskMapper.toDetailResponse(task);
     }
 }
\ No newline at end of file
@@ -2,12 +2,18 @@ package com.myworkflow.application.service;
 
 import com.myworkflow.application.dto.request.UpdateProfileRequest;
 import com.myworkflow.application.dto.response.UserProfileResponse;
+import com.myworkflow.application.mapper.UserMapper;
 import com.myworkflow.domain.model.User;
+import com.myworkflow.domain.repository.ImageBlobRepository;
 import com.myworkflow.domain.repository.UserRepository;
 import com.myworkflow.infrastructure.exception.AuthenticationException;
 import com.myworkflow.infrastructure.exception.ResourceNotFoundException;
+import com.myworkflow.infrastructure.storage.ImageVariantGenerator;
+import com.myworkflow.infrastructure.storage.ProfileImageStorage;
+import com.myworkflow.infrastructure.storage.ProfileImageUpdatedEvent;
+import com.myworkflow.infrastructure.storage.StoredImage;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,7 +23,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -25,9 +33,11 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final ModelMapper modelMapper;
-
-    private static final String UPLOAD_DIR = "uploads/profile-images/";
+    private final UserMapper userMapper;
+    private final ImageBlobRepository imageBlobRepository;
+    private final ProfileImageStorage profileImageStorage;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public UserProfileResponse updateProfile(Long userId, UpdateProfileRequest request) {
@@ -55,7 +65,7 @@ public class UserService {
         }
 
         user = userRepository.save(user);
-        return modelMapper.map(user, UserProfileResponse.class);
+        return mapToProfileResponse(user);
     }
 
     @Transactional
@@ -63,38 +73,71 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        // Delete old image if exists
-        if (user.getProfileImageUrl() != null) {
-            Path oldImagePath = Paths.get(user.getProfileImageUrl());
-            if (Files.exists(oldImagePath)) {
-                Files.delete(oldImagePath);
-            }
-        }
+        // Store (or reuse) the content-addressed blob and take a reference on it
+        StoredImage image = profileImageStorage.store(file, stored -> imageBlobRepository.acquire(
+                stored.hash(),
+                stored.type().getContentType(),
+                stored.type().getExtension(),
+                stored.size()
+        ));
 
-        // Create upload directory if not exists
-        Path uploadPath = Paths.get(UPLOAD_DIR);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-
-        // Generate unique filename
-        String filename = UUID.randomUUID() + "_" + file.getOriginalFilename();
-        Path filePath = uploadPath.resolve(filename);
-
-        // Save file
-        Files.copy(file.getInputStream(), filePath);
+        String previousUrl = user.getProfileImageUrl();
 
         // Update user profile image URL
-        user.setProfileImageUrl(filePath.toString());
+        user.setProfileImageUrl(image.url());
         user = userRepository.save(user);
 
-        return modelMapper.map(user, UserProfileResponse.class);
+        // Drop the reference on the old image
+        if (previousUrl != null) {
+            releaseProfileImage(previousUrl);
+        }
+
+        // Thumbnails are rendered in the background once this transaction commits
+        eventPublisher.publishEvent(new ProfileImageUpdatedEvent(image.hash(), image.type()));
+
+        return mapToProfileResponse(user);
     }
 
     public UserProfileResponse getProfile(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        return modelMapper.map(user, UserProfileResponse.class);
+        return mapToProfileResponse(user);
+    }
+
+    private UserProfileResponse mapToProfileResponse(User user) {
+        UserProfileResponse response = userMapper.toProfileResponse(user);
+        Map<Integer, String> variants = new LinkedHashMap<>();
+
+        profileImageStorage.hashFromUrl(user.getProfileImageUrl())
+                .flatMap(imageBlobRepository::findById)
+                .filter(blob -> blob.getVariantExtension() != null)
+                .ifPresent(blob -> {
+                    for (int size : imageVariantGenerator.getSizes()) {
+                        variants.put(size, profileImageStorage.variantUrl(
+                                blob.getHash(), size, blob.getVariantExtension()));
+                    }
+                });
+
+        response.setProfileImageVariants(variants);
+        return response;
+    }
+
+    private void releaseProfileImage(String url) throws IOException {
+        Optional<String> hash = profileImageStorage.hashFromUrl(url);
+
+        if (hash.isEmpty()) {
+            // Legacy flat-directory upload, owned by this user alone
+            Path oldImagePath = Paths.get(url);
+            if (Files.exists(oldImagePath)) {
+                Files.delete(oldImagePath);
+            }
+            return;
+        }
+
+        // Content-addressed files are never deleted here: a concurrent upload of the same
+        // bytes may be reusing the file. At zero references the collector removes the row
+        // and the file together once the grace period has passed
+        imageBlobRepository.release(hash.get());
     }
-}
\ No newline at end of file
+}
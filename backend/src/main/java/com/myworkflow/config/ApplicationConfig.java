@@ -1,21 +0,0 @@
-package com.myworkflow.config;
-
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class ApplicationConfig {
-
-    @Bean
-    public ModelMapper modelMapper() {
-        ModelMapper modelMapper = new ModelMapper();
-
-        // Custom configurations if needed
-        modelMapper.getConfiguration()
-                .setSkipNullEnabled(true)
-                .setAmbiguityIgnored(true);
-
-        return modelMapper;
-    }
-}
\ No newline at end of file
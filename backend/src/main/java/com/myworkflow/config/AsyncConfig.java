@@ -0,0 +1,80 @@
+package com.myworkflow.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Slf4j
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${image.variants.pool-size:2}")
+    private int imageVariantPoolSize;
+
+    @Value("${image.variants.queue-capacity:100}")
+    private int imageVariantQueueCapacity;
+
+    @Value("${slow-query.explain.queue-capacity:10}")
+    private int slowQueryExplainQueueCapacity;
+
+    // Default for unqualified @Async. Declaring imageVariantExecutor switches off Boot's own
+    // applicationTaskExecutor, so it is rebuilt here and follows spring.threads.virtual.enabled
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(
+            Environment environment,
+            SimpleAsyncTaskExecutorBuilder simpleAsyncTaskExecutorBuilder,
+            ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder
+    ) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return simpleAsyncTaskExecutorBuilder.build();
+        }
+        return threadPoolTaskExecutorBuilder.build();
+    }
+
+    // Bounded on both threads and queue. Overflow is counted and left pending for
+    // ImageVariantGenerator's retry sweep to pick up. Stays on platform threads in
+    // virtual mode: decoding is CPU and memory bound, the pool size is what keeps
+    // concurrent decodes in check
+    @Bean
+    public ThreadPoolTaskExecutor imageVariantExecutor() {
+        Counter rejected = Counter.builder("image.variants.rejected")
+                .description("Variant jobs turned away by the full queue, retried by the sweep")
+                .register(Metrics.globalRegistry);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageVariantPoolSize);
+        executor.setMaxPoolSize(imageVariantPoolSize);
+        executor.setQueueCapacity(imageVariantQueueCapacity);
+        executor.setThreadNamePrefix("image-variant-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            log.warn("Image variant queue full, variants stay pending until the retry sweep");
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // One EXPLAIN ANALYZE at a time, so sampling never puts much extra load on the database
+    @Bean
+    public ThreadPoolTaskExecutor slowQueryExplainExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(slowQueryExplainQueueCapacity);
+        executor.setThreadNamePrefix("slow-query-explain-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.debug("Slow query EXPLAIN queue full, skipping plan capture"));
+        return executor;
+    }
+}
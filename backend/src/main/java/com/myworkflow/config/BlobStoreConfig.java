@@ -0,0 +1,114 @@
+package com.myworkflow.config;
+
+import com.myworkflow.infrastructure.storage.BlobStore;
+import com.myworkflow.infrastructure.storage.CachingBlobStore;
+import com.myworkflow.infrastructure.storage.LocalFileSystemBlobStore;
+import com.myworkflow.infrastructure.storage.S3BlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Configuration
+public class BlobStoreConfig {
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    @Bean
+    @ConditionalOnProperty(name = "file.blob-store.type", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore() {
+        return new LocalFileSystemBlobStore(Paths.get(uploadDir));
+    }
+
+    // Point endpoint at MinIO or LocalStack with path-style=true to run against a local stand-in
+    @Configuration
+    @ConditionalOnProperty(name = "file.blob-store.type", havingValue = "s3")
+    static class S3 {
+
+        @Value("${file.blob-store.s3.endpoint:}")
+        private String endpoint;
+
+        @Value("${file.blob-store.s3.region:us-east-1}")
+        private String region;
+
+        @Value("${file.blob-store.s3.bucket}")
+        private String bucket;
+
+        @Value("${file.blob-store.s3.access-key:}")
+        private String accessKey;
+
+        @Value("${file.blob-store.s3.secret-key:}")
+        private String secretKey;
+
+        @Value("${file.blob-store.s3.path-style:false}")
+        private boolean pathStyle;
+
+        @Value("${file.blob-store.s3.presign-ttl:PT15M}")
+        private Duration presignTtl;
+
+        @Value("${file.blob-store.s3.redirect-downloads:true}")
+        private boolean redirectDownloads;
+
+        @Value("${file.blob-store.cache-dir:${file.upload-dir:uploads}/cache}")
+        private String cacheDir;
+
+        @Value("${file.blob-store.cache-max-bytes:536870912}")
+        private long cacheMaxBytes;
+
+        @Bean(destroyMethod = "close")
+        public S3Client s3Client() {
+            var builder = S3Client.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials())
+                    .serviceConfiguration(S3Configuration.builder()
+                            .pathStyleAccessEnabled(pathStyle)
+                            .build());
+            if (StringUtils.hasText(endpoint)) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean(destroyMethod = "close")
+        public S3Presigner s3Presigner() {
+            var builder = S3Presigner.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials())
+                    .serviceConfiguration(S3Configuration.builder()
+                            .pathStyleAccessEnabled(pathStyle)
+                            .build());
+            if (StringUtils.hasText(endpoint)) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean
+        public BlobStore s3BlobStore(S3Client s3Client, S3Presigner s3Presigner) throws IOException {
+            S3BlobStore store = new S3BlobStore(s3Client, s3Presigner, bucket, presignTtl, redirectDownloads);
+            return new CachingBlobStore(store, Paths.get(cacheDir), cacheMaxBytes);
+        }
+
+        private AwsCredentialsProvider credentials() {
+            if (StringUtils.hasText(accessKey)) {
+                return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+            }
+            return DefaultCredentialsProvider.create();
+        }
+    }
+}
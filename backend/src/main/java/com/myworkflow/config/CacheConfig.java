@@ -0,0 +1,81 @@
+package com.myworkflow.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+/**
+ * Hibernate second-level cache on an in-process Ehcache, reached through JCache.
+ * Regions are created here with their own size bound and TTL, and Hibernate is
+ * told to fail on any region it cannot find rather than create an unbounded one.
+ * Region names must match the {@code @Cache} and {@code @NaturalIdCache}
+ * annotations on the entities.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_EMAIL_REGION = "users-by-email";
+    public static final String PROJECTS_REGION = "projects";
+
+    @Value("${cache.l2.users.max-entries:10000}")
+    private long usersMaxEntries;
+
+    @Value("${cache.l2.users.ttl:PT10M}")
+    private Duration usersTtl;
+
+    @Value("${cache.l2.projects.max-entries:50000}")
+    private long projectsMaxEntries;
+
+    @Value("${cache.l2.projects.ttl:PT10M}")
+    private Duration projectsTtl;
+
+    @Value("${cache.l2.statistics:true}")
+    private boolean statistics;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        // A provider of our own rather than the static Caching registry, so every
+        // application context gets a fresh manager instead of sharing one per JVM
+        CacheManager cacheManager = new EhcacheCachingProvider().getCacheManager();
+
+        createRegion(cacheManager, USERS_REGION, usersMaxEntries, usersTtl);
+        createRegion(cacheManager, USERS_BY_EMAIL_REGION, usersMaxEntries, usersTtl);
+        createRegion(cacheManager, PROJECTS_REGION, projectsMaxEntries, projectsTtl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, long maxEntries, Duration ttl) {
+        // Hibernate stores immutable disassembled state, so entries are kept by reference
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                                Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))
+                        .build()));
+
+        // Hit, miss and eviction counts through the JCache statistics MXBean
+        cacheManager.enableStatistics(name, statistics);
+        cacheManager.enableManagement(name, statistics);
+    }
+}
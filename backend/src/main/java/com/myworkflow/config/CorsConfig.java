@@ -1,5 +1,6 @@
 package com.myworkflow.config;
 
+import com.myworkflow.infrastructure.metrics.ServerTimingFilter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,6 +22,7 @@ public class CorsConfig {
                         .allowedOrigins(allowedOrigins)
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders(ServerTimingFilter.SERVER_TIMING, ServerTimingFilter.DEBUG_QUERIES)
                         .allowCredentials(true)
                         .maxAge(3600);
             }
@@ -1,19 +1,22 @@
 package com.myworkflow.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.myworkflow.infrastructure.storage.UploadResourceHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 
-@Configuration
-public class FileStorageConfig implements WebMvcConfigurer {
+import java.util.Map;
 
-    @Value("${file.upload-dir:uploads}")
-    private String uploadDir;
+@Configuration
+public class FileStorageConfig {
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + uploadDir + "/");
+    // Replaces the plain resource handler so uploads get ETags, immutable caching and ranges
+    @Bean
+    public SimpleUrlHandlerMapping uploadHandlerMapping(UploadResourceHandler uploadResourceHandler) {
+        return new SimpleUrlHandlerMapping(
+                Map.of("/uploads/**", uploadResourceHandler),
+                Ordered.HIGHEST_PRECEDENCE
+        );
     }
-}
\ No newline at end of file
+}
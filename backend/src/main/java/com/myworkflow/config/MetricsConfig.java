@@ -0,0 +1,120 @@
+package com.myworkflow.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myworkflow.infrastructure.metrics.RepositoryStatementMetrics;
+import com.myworkflow.infrastructure.metrics.RowBucketObservationConvention;
+import com.myworkflow.infrastructure.metrics.TimedJacksonHttpMessageConverter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import java.util.List;
+
+/**
+ * Application meters next to the ones Spring Boot Actuator binds on its own
+ * (http.server.requests, hikaricp.*, spring.data.repository.invocations, JVM).
+ * Everything is scraped from /actuator/prometheus on the management port.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Published with buckets so percentiles can be aggregated across instances
+    private static final List<String> HISTOGRAMS = List.of(
+            "http.server.requests",
+            "spring.data.repository.invocations",
+            "repository.statements",
+            "jwt.verify",
+            "password.encoder",
+            "dashboard.rows"
+    );
+
+    @Bean
+    public ServerRequestObservationConvention rowBucketObservationConvention() {
+        return new RowBucketObservationConvention();
+    }
+
+    @Bean
+    public MeterFilter histogramMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (HISTOGRAMS.stream().noneMatch(id.getName()::equals)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        };
+    }
+
+    // Replaces Boot's JSON converter, same ObjectMapper, so Server-Timing can report serialization
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+
+    // Share of the pool in use; hikaricp.connections.pending shows the requests queued behind it
+    @Bean
+    public MeterBinder hikariSaturationMetrics(ObjectProvider<HikariDataSource> pools) {
+        return registry -> pools.forEach(pool -> Gauge.builder("hikaricp.connections.saturation", pool,
+                        MetricsConfig::saturation)
+                .description("Active connections as a share of the maximum pool size")
+                .tag("pool", pool.getPoolName())
+                .register(registry));
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        if (bean == null) {
+            return Double.NaN;
+        }
+        return (double) bean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+
+    @Bean
+    public static RepositoryStatementMetrics repositoryStatementMetrics() {
+        return new RepositoryStatementMetrics();
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryStatementMetricsPostProcessor(RepositoryStatementMetrics metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    metrics.interceptor(information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Last, so an inspector set by an earlier customizer is kept behind this one
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public HibernatePropertiesCustomizer repositoryStatementMetricsCustomizer(RepositoryStatementMetrics metrics) {
+        return properties -> {
+            if (properties.get(AvailableSettings.STATEMENT_INSPECTOR) instanceof StatementInspector previous) {
+                metrics.chain(previous);
+            }
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, metrics);
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.myworkflow.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reports which thread model serves requests. With spring.threads.virtual.enabled
+ * on Java 21+, Boot runs Tomcat requests, unqualified @Async tasks and @Scheduled
+ * jobs on virtual threads; on older runtimes the property is silently ignored.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Requests are no longer capped by server.tomcat.threads.max, the connection pool is the limit
+            log.info("Serving requests on virtual threads, database concurrency bounded by {} pooled connections",
+                    connectionPoolSize);
+        } else if (virtualThreadsRequested) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads, "
+                    + "serving requests on platform threads (build with -Pjava21 and run on Java 21+)",
+                    Runtime.version().feature());
+        } else {
+            log.info("Serving requests on platform threads");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.myworkflow.config;
+
+import com.myworkflow.infrastructure.datasource.ObservedDataSource;
+import com.myworkflow.infrastructure.datasource.StatementListener;
+import com.myworkflow.infrastructure.tracing.StatementSpans;
+import com.myworkflow.infrastructure.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+/**
+ * Local request tracing: spans from TracingFilter, the JWT filter, controllers,
+ * services and JDBC statements, exported by SpanFileExporter. A tracing.sample-rate
+ * of 0 turns it off.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public static Tracer tracer(
+            @Value("${tracing.sample-rate:0.1}") double sampleRate,
+            @Value("${tracing.ring-size:8192}") int ringSize
+    ) {
+        return new Tracer(sampleRate, ringSize);
+    }
+
+    @Bean
+    public static StatementSpans statementSpans(Tracer tracer) {
+        return new StatementSpans(tracer);
+    }
+
+    // Wraps the datasource only where Hibernate gets it, before the factory starts
+    @Bean
+    public static BeanPostProcessor observedDataSourcePostProcessor(ObjectProvider<StatementListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean factoryBean
+                        && factoryBean.getDataSource() != null
+                        && !(factoryBean.getDataSource() instanceof ObservedDataSource)) {
+                    factoryBean.setDataSource(new ObservedDataSource(
+                            factoryBean.getDataSource(), listeners.orderedStream().toList()));
+                }
+                return bean;
+            }
+        };
+    }
+}
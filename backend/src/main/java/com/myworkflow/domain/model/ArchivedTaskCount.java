@@ -0,0 +1,27 @@
+package com.myworkflow.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Number of a project's tasks in archived_tasks, all of them DONE
+@Entity
+@Table(name = "archived_task_counts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTaskCount {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+}
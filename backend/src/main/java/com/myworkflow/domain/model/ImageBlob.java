@@ -0,0 +1,50 @@
+package com.myworkflow.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "image_blobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageBlob {
+
+    // Hex SHA-256 of the content, also the file name on disk
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(nullable = false, length = 8)
+    private String extension;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "reference_count", nullable = false)
+    private long referenceCount;
+
+    // Set once the resized variants exist on disk, null while they are pending
+    @Column(name = "variant_extension", length = 8)
+    private String variantExtension;
+
+    // Generation attempts so far, the retry sweep stops once the limit is reached
+    @ColumnDefault("0")
+    @Column(name = "variant_attempts", nullable = false)
+    private int variantAttempts;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,55 @@
+package com.myworkflow.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Live and archived tasks as one read-only relation, for listings that ask for
+ * archived results. A subselect rather than a view: Postgres pushes the list
+ * filters into both branches, and the SQL is resolved by table name on every
+ * query, so it keeps working across the tasks partition swap.
+ */
+@Entity
+@Immutable
+@Subselect("SELECT id, title, description, due_date, status, project_id, created_at, updated_at, " +
+        "false AS archived FROM tasks " +
+        "UNION ALL " +
+        "SELECT id, title, description, due_date, status, project_id, created_at, updated_at, " +
+        "true AS archived FROM archived_tasks")
+@Synchronize({"tasks", "archived_tasks"})
+@Data
+@NoArgsConstructor
+public class TaskListing {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id")
+    private Project project;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    private boolean archived;
+}
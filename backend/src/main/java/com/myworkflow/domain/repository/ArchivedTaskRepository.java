@@ -0,0 +1,62 @@
+package com.myworkflow.domain.repository;
+
+import com.myworkflow.domain.model.ArchivedTask;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    // Moves one batch of DONE tasks last touched before the cutoff and bumps the
+    // per-project counts, all in one statement. Rows a user holds locked are skipped
+    // and picked up by a later batch. The id list gives every partition an index path, a bare
+    // join hashes the whole table. Returns the number of tasks moved. The query spaces
+    // name every table written, so only those are invalidated, never the cached users and projects.
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "archived_tasks"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "archived_task_counts")
+    })
+    @Query(value = "WITH candidates AS (" +
+            "SELECT project_id, id FROM tasks WHERE status = 'DONE' AND updated_at < :cutoff " +
+            "LIMIT :batchSize FOR UPDATE SKIP LOCKED), " +
+            "moved AS (" +
+            "DELETE FROM tasks t USING candidates c WHERE t.project_id = c.project_id AND t.id = c.id " +
+            "AND t.id = ANY(ARRAY(SELECT id FROM candidates)) " +
+            "RETURNING t.id, t.title, t.description, t.due_date, t.status, t.project_id, t.created_at, t.updated_at), " +
+            "counted AS (" +
+            "INSERT INTO archived_task_counts (project_id, task_count) " +
+            "SELECT project_id, COUNT(*) FROM moved GROUP BY project_id " +
+            "ON CONFLICT (project_id) DO UPDATE SET task_count = archived_task_counts.task_count + EXCLUDED.task_count) " +
+            "INSERT INTO archived_tasks " +
+            "(id, title, description, due_date, status, project_id, created_at, updated_at, archived_at) " +
+            "SELECT id, title, description, due_date, status, project_id, created_at, updated_at, now() FROM moved",
+            nativeQuery = true)
+    int archiveBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    // By-id access for the ids that listings with includeArchived return. The id alone
+    // cannot use the primary key, V5 indexes it.
+    @Query("SELECT a FROM ArchivedTask a JOIN FETCH a.project p JOIN FETCH p.user WHERE a.id = :id")
+    Optional<ArchivedTask> findWithProjectById(@Param("id") Long id);
+
+    @Query("SELECT p.user.id FROM ArchivedTask a JOIN a.project p WHERE a.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedTask a WHERE a.project.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedTaskCount c WHERE c.projectId = :projectId")
+    int deleteCountByProjectId(@Param("projectId") Long projectId);
+}
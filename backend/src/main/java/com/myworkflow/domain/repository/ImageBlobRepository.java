@@ -0,0 +1,72 @@
+package com.myworkflow.domain.repository;
+
+import com.myworkflow.domain.model.ImageBlob;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    // Upsert takes the row lock, so concurrent acquire/release on one blob serialize.
+    // The query space keeps Hibernate from evicting every second-level cache region on native writes.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "image_blobs"))
+    @Query(value = "INSERT INTO image_blobs (hash, content_type, extension, size_bytes, reference_count, created_at) " +
+            "VALUES (:hash, :contentType, :extension, :sizeBytes, 1, now()) " +
+            "ON CONFLICT (hash) DO UPDATE SET reference_count = image_blobs.reference_count + 1",
+            nativeQuery = true)
+    int acquire(@Param("hash") String hash,
+                @Param("contentType") String contentType,
+                @Param("extension") String extension,
+                @Param("sizeBytes") long sizeBytes);
+
+    // Zero-reference row for a blob file the collector found without one, so deleting it
+    // takes the same row lock that acquire waits on
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "image_blobs"))
+    @Query(value = "INSERT INTO image_blobs (hash, content_type, extension, size_bytes, reference_count, created_at) " +
+            "VALUES (:hash, :contentType, :extension, :sizeBytes, 0, now()) " +
+            "ON CONFLICT (hash) DO NOTHING",
+            nativeQuery = true)
+    int claim(@Param("hash") String hash,
+              @Param("contentType") String contentType,
+              @Param("extension") String extension,
+              @Param("sizeBytes") long sizeBytes);
+
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.referenceCount = b.referenceCount - 1 " +
+            "WHERE b.hash = :hash AND b.referenceCount > 0")
+    int release(@Param("hash") String hash);
+
+    @Modifying
+    @Query("DELETE FROM ImageBlob b WHERE b.hash = :hash AND b.referenceCount = 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.variantExtension = :extension WHERE b.hash = :hash")
+    int markVariantsReady(@Param("hash") String hash, @Param("extension") String extension);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.variantAttempts = b.variantAttempts + 1 WHERE b.hash = :hash")
+    int recordVariantAttempt(@Param("hash") String hash);
+
+    // Still referenced, still pending and old enough that the upload's own job has run or been dropped
+    @Query("SELECT b FROM ImageBlob b WHERE b.variantExtension IS NULL AND b.referenceCount > 0 " +
+            "AND b.variantAttempts < :maxAttempts AND b.createdAt < :createdBefore ORDER BY b.createdAt")
+    List<ImageBlob> findPendingVariants(@Param("maxAttempts") int maxAttempts,
+                                        @Param("createdBefore") LocalDateTime createdBefore,
+                                        Pageable pageable);
+}
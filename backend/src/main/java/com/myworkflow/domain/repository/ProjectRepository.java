@@ -2,6 +2,7 @@ package com.myworkflow.domain.repository;
 
 import com.myworkflow.domain.model.Project;
 import com.myworkflow.domain.model.User;
+import com.myworkflow.domain.repository.projection.ProjectSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,16 +10,33 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-    Page<Project> findByUser(User user, Pageable pageable);
+    // List rows with task counts from correlated subqueries, one statement per page.
+    // Archived tasks are all DONE and come from their per-project count
+    @Query(value = "SELECT new com.myworkflow.domain.repository.projection.ProjectSummary(" +
+            "p.id, p.title, SUBSTRING(p.description, 1, :descriptionLength), p.createdAt, p.updatedAt, " +
+            "(SELECT COUNT(t) FROM Task t WHERE t.project = p) + COALESCE(a.taskCount, 0), " +
+            "(SELECT COUNT(d) FROM Task d WHERE d.project = p AND " +
+            "d.status = com.myworkflow.domain.model.TaskStatus.DONE) + COALESCE(a.taskCount, 0)) " +
+            "FROM Project p LEFT JOIN ArchivedTaskCount a ON a.projectId = p.id WHERE " + SUMMARY_FILTER,
+            countQuery = "SELECT COUNT(p) FROM Project p WHERE " + SUMMARY_FILTER)
+    Page<ProjectSummary> findSummaries(@Param("userId") Long userId,
+                                       @Param("searchPattern") String searchPattern,
+                                       @Param("descriptionLength") int descriptionLength,
+                                       Pageable pageable);
+
+    String SUMMARY_FILTER = "p.user.id = :userId AND " +
+            "(:searchPattern IS NULL OR LOWER(p.title) LIKE :searchPattern OR " +
+            "LOWER(p.description) LIKE :searchPattern)";
+
+    @Query("SELECT p.user.id FROM Project p WHERE p.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
 
-    @Query("SELECT p FROM Project p WHERE p.user = :user AND " +
-            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Project> findByUserAndSearch(@Param("user") User user,
-                                      @Param("search") String search,
-                                      Pageable pageable);
+    @Query("SELECT p FROM Project p JOIN FETCH p.user WHERE p.id = :id")
+    Optional<Project> findWithOwnerById(@Param("id") Long id);
 
     boolean existsByIdAndUser(Long id, User user);
 }
\ No newline at end of file
@@ -3,38 +3,148 @@ package com.myworkflow.domain.repository;
 import com.myworkflow.domain.model.Project;
 import com.myworkflow.domain.model.Task;
 import com.myworkflow.domain.model.TaskStatus;
+import com.myworkflow.domain.repository.projection.TaskCounts;
+import com.myworkflow.domain.repository.projection.TaskSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findByProject(Project project, Pageable pageable);
-
     List<Task> findByProjectAndStatus(Project project, TaskStatus status);
 
-    long countByProject(Project project);
+    // tasks is hash-partitioned on project_id: statements addressed to a task or a project
+    // carry it so Postgres prunes to a single partition. findProjectIdById and the user-wide
+    // listings cannot, they visit every partition through its index.
+    @Query("SELECT t.project.id FROM Task t WHERE t.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+
+    // Task, project and owner in one statement, nothing lazy left to trigger an ownership check
+    @Query("SELECT t FROM Task t JOIN FETCH t.project p JOIN FETCH p.user " +
+            "WHERE t.id = :id AND p.id = :projectId")
+    Optional<Task> findWithProjectById(@Param("id") Long id, @Param("projectId") Long projectId);
+
+    @Query("SELECT new com.myworkflow.domain.repository.projection.TaskSummary(" +
+            "t.id, t.title, t.description, t.dueDate, t.status, " +
+            "p.id, p.title, t.createdAt, t.updatedAt, false) " +
+            "FROM Task t JOIN t.project p WHERE t.id = :id AND p.id = :projectId")
+    Optional<TaskSummary> findSummaryById(@Param("id") Long id, @Param("projectId") Long projectId);
+
+    // Archived tasks are all DONE and counted from their per-project total, not row by row
+    @Query("SELECT new com.myworkflow.domain.repository.projection.TaskCounts(" +
+            "COUNT(t) + " + ARCHIVED_COUNT + ", " +
+            "COALESCE(SUM(CASE WHEN t.status = com.myworkflow.domain.model.TaskStatus.DONE THEN 1 ELSE 0 END), 0) + " +
+            ARCHIVED_COUNT + ") " +
+            "FROM Task t WHERE t.project.id = :projectId")
+    TaskCounts countByProjectId(@Param("projectId") Long projectId);
+
+    String ARCHIVED_COUNT = "COALESCE((SELECT c.taskCount FROM ArchivedTaskCount c WHERE c.projectId = :projectId), 0)";
+
+    // Ownership-guarded writes: 0 affected rows means missing or not owned by userId.
+    // Bulk statements skip @UpdateTimestamp, so updatedAt is passed in
+    @Modifying
+    @Query("UPDATE Task t SET " +
+            "t.title = COALESCE(:title, t.title), " +
+            "t.description = COALESCE(:description, t.description), " +
+            "t.dueDate = COALESCE(:dueDate, t.dueDate), " +
+            "t.status = COALESCE(:status, t.status), " +
+            "t.updatedAt = :updatedAt " +
+            "WHERE t.id = :id AND t.project.id = :projectId AND " + OWNED_BY)
+    int updateOwned(@Param("id") Long id,
+                    @Param("projectId") Long projectId,
+                    @Param("userId") Long userId,
+                    @Param("title") String title,
+                    @Param("description") String description,
+                    @Param("dueDate") LocalDate dueDate,
+                    @Param("status") TaskStatus status,
+                    @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.project.id = :projectId AND " + OWNED_BY)
+    int deleteOwned(@Param("id") Long id, @Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId AND " + OWNED_BY)
+    int deleteOwnedByProjectId(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    String OWNED_BY = "t.project.id IN (SELECT o.id FROM Project o WHERE o.user.id = :userId)";
+
+    // List rows for one project's tasks. Every filter is optional (null or false); the
+    // project id is not, so the statement stays pruned to its partition in generic plans too
+    @Query(value = "SELECT new com.myworkflow.domain.repository.projection.TaskSummary(" +
+            "t.id, t.title, SUBSTRING(t.description, 1, :descriptionLength), t.dueDate, t.status, " +
+            "p.id, p.title, t.createdAt, t.updatedAt, false) " +
+            "FROM Task t JOIN t.project p WHERE " + PROJECT_FILTER,
+            countQuery = "SELECT COUNT(t) FROM Task t JOIN t.project p WHERE " + PROJECT_FILTER)
+    Page<TaskSummary> findSummaries(@Param("userId") Long userId,
+                                    @Param("projectId") Long projectId,
+                                    @Param("status") TaskStatus status,
+                                    @Param("dueDate") LocalDate dueDate,
+                                    @Param("searchPattern") String searchPattern,
+                                    @Param("overdue") boolean overdue,
+                                    @Param("descriptionLength") int descriptionLength,
+                                    Pageable pageable);
+
+    // Same rows across all of a user's projects. No partition key: it reaches the user's
+    // projects through their project_id indexes in every partition
+    @Query(value = "SELECT new com.myworkflow.domain.repository.projection.TaskSummary(" +
+            "t.id, t.title, SUBSTRING(t.description, 1, :descriptionLength), t.dueDate, t.status, " +
+            "p.id, p.title, t.createdAt, t.updatedAt, false) " +
+            "FROM Task t JOIN t.project p WHERE " + USER_FILTER,
+            countQuery = "SELECT COUNT(t) FROM Task t JOIN t.project p WHERE " + USER_FILTER)
+    Page<TaskSummary> findUserSummaries(@Param("userId") Long userId,
+                                        @Param("status") TaskStatus status,
+                                        @Param("dueDate") LocalDate dueDate,
+                                        @Param("searchPattern") String searchPattern,
+                                        @Param("overdue") boolean overdue,
+                                        @Param("descriptionLength") int descriptionLength,
+                                        Pageable pageable);
+
+    // The two listings over live and archived tasks, only used when a listing asks for the archive
+    @Query(value = "SELECT new com.myworkflow.domain.repository.projection.TaskSummary(" +
+            "t.id, t.title, SUBSTRING(t.description, 1, :descriptionLength), t.dueDate, t.status, " +
+            "p.id, p.title, t.createdAt, t.updatedAt, t.archived) " +
+            "FROM TaskListing t JOIN t.project p WHERE " + PROJECT_FILTER,
+            countQuery = "SELECT COUNT(t) FROM TaskListing t JOIN t.project p WHERE " + PROJECT_FILTER)
+    Page<TaskSummary> findSummariesIncludingArchived(@Param("userId") Long userId,
+                                                     @Param("projectId") Long projectId,
+                                                     @Param("status") TaskStatus status,
+                                                     @Param("dueDate") LocalDate dueDate,
+                                                     @Param("searchPattern") String searchPattern,
+                                                     @Param("overdue") boolean overdue,
+                                                     @Param("descriptionLength") int descriptionLength,
+                                                     Pageable pageable);
+
+    @Query(value = "SELECT new com.myworkflow.domain.repository.projection.TaskSummary(" +
+            "t.id, t.title, SUBSTRING(t.description, 1, :descriptionLength), t.dueDate, t.status, " +
+            "p.id, p.title, t.createdAt, t.updatedAt, t.archived) " +
+            "FROM TaskListing t JOIN t.project p WHERE " + USER_FILTER,
+            countQuery = "SELECT COUNT(t) FROM TaskListing t JOIN t.project p WHERE " + USER_FILTER)
+    Page<TaskSummary> findUserSummariesIncludingArchived(@Param("userId") Long userId,
+                                                         @Param("status") TaskStatus status,
+                                                         @Param("dueDate") LocalDate dueDate,
+                                                         @Param("searchPattern") String searchPattern,
+                                                         @Param("overdue") boolean overdue,
+                                                         @Param("descriptionLength") int descriptionLength,
+                                                         Pageable pageable);
 
-    long countByProjectAndStatus(Project project, TaskStatus status);
+    String TASK_FILTER = "(:status IS NULL OR t.status = :status) AND " +
+            "(CAST(:dueDate AS LocalDate) IS NULL OR t.dueDate = :dueDate) AND " +
+            "(:searchPattern IS NULL OR LOWER(t.title) LIKE :searchPattern OR " +
+            "LOWER(t.description) LIKE :searchPattern) AND " +
+            "(:overdue = false OR (t.dueDate < CURRENT_DATE AND " +
+            "t.status <> com.myworkflow.domain.model.TaskStatus.DONE))";
 
-    @Query("SELECT t FROM Task t WHERE t.project = :project AND " +
-            "(LOWER(t.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Task> findByProjectAndSearch(@Param("project") Project project,
-                                      @Param("search") String search,
-                                      Pageable pageable);
+    String PROJECT_FILTER = "t.project.id = :projectId AND p.user.id = :userId AND " + TASK_FILTER;
 
-    @Query("SELECT t FROM Task t WHERE t.project = :project AND " +
-            "(:status IS NULL OR t.status = :status) AND " +
-            "(:dueDate IS NULL OR t.dueDate = :dueDate)")
-    Page<Task> findByProjectAndFilters(@Param("project") Project project,
-                                       @Param("status") TaskStatus status,
-                                       @Param("dueDate") LocalDate dueDate,
-                                       Pageable pageable);
+    String USER_FILTER = "p.user.id = :userId AND " + TASK_FILTER;
 }
\ No newline at end of file
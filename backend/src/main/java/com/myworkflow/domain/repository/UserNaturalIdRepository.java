@@ -0,0 +1,10 @@
+package com.myworkflow.domain.repository;
+
+import com.myworkflow.domain.model.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+    // Email is the natural id, repeated lookups are served from the second-level cache
+    Optional<User> findByEmail(String email);
+}
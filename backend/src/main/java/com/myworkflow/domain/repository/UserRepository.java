@@ -2,12 +2,17 @@ package com.myworkflow.domain.repository;
 
 import com.myworkflow.domain.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.profileImageUrl FROM User u WHERE u.profileImageUrl IN :urls")
+    List<String> findReferencedProfileImageUrls(@Param("urls") Collection<String> urls);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.myworkflow.domain.repository.projection;
+
+/**
+ * Total and completed task counts of one project, read in a single aggregate.
+ */
+public record TaskCounts(Long totalTasks, Long completedTasks) {
+
+    public double progressPercentage() {
+        return progressPercentage(totalTasks, completedTasks);
+    }
+
+    // Rounded to two decimals, 0 for a project without tasks
+    public static double progressPercentage(Long totalTasks, Long completedTasks) {
+        if (totalTasks == null || totalTasks == 0) {
+            return 0.0;
+        }
+        double progress = (double) completedTasks / totalTasks * 100;
+        return Math.round(progress * 100.0) / 100.0;
+    }
+}
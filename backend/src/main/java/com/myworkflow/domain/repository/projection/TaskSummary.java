@@ -0,0 +1,30 @@
+package com.myworkflow.domain.repository.projection;
+
+import com.myworkflow.domain.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Columns a task list row needs, selected directly into this record so list
+ * reads never hydrate or dirty-check {@code Task} entities. The description
+ * may be truncated by the query; archived is set for rows from the archive.
+ */
+public record TaskSummary(
+        Long id,
+        String title,
+        String description,
+        LocalDate dueDate,
+        TaskStatus status,
+        Long projectId,
+        String projectTitle,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        boolean archived
+) {
+
+    // Same rule as Task.isOverdue
+    public boolean overdue() {
+        return dueDate != null && dueDate.isBefore(LocalDate.now()) && status != TaskStatus.DONE;
+    }
+}
@@ -0,0 +1,104 @@
+package com.myworkflow.infrastructure.archive;
+
+import com.myworkflow.domain.repository.ArchivedTaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves DONE tasks untouched for longer than the threshold from tasks into
+ * archived_tasks. Each batch is its own short transaction, and batches are paced
+ * to a maximum row rate so a large first run does not compete with user traffic.
+ */
+@Slf4j
+@Component
+public class TaskArchiver {
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration olderThan;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long batchPauseMillis;
+    private final Counter archived;
+
+    public TaskArchiver(
+            ArchivedTaskRepository archivedTaskRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${task.archive.enabled:true}") boolean enabled,
+            @Value("${task.archive.older-than:P90D}") Duration olderThan,
+            @Value("${task.archive.batch-size:500}") int batchSize,
+            @Value("${task.archive.max-batches-per-run:200}") int maxBatchesPerRun,
+            @Value("${task.archive.max-rows-per-second:1000}") int maxRowsPerSecond
+    ) {
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.olderThan = olderThan;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchPauseMillis = maxRowsPerSecond > 0 ? this.batchSize * 1000L / maxRowsPerSecond : 0L;
+        this.archived = Counter.builder("task.archive.moved").register(Metrics.globalRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${task.archive.interval:PT1H}", initialDelayString = "${task.archive.initial-delay:PT10M}")
+    public void archive() {
+        if (enabled) {
+            runOnce();
+        }
+    }
+
+    public long runOnce() {
+        long started = System.currentTimeMillis();
+        // Fixed for the whole run so the last batches do not chase freshly aged rows
+        LocalDateTime cutoff = LocalDateTime.now().minus(olderThan);
+        long moved = 0;
+        int batches = 0;
+
+        try {
+            while (batches < maxBatchesPerRun) {
+                long count = archiveBatch(cutoff);
+                batches++;
+                moved += count;
+                archived.increment(count);
+                if (count < batchSize) {
+                    break;
+                }
+                throttle();
+            }
+        } catch (Exception e) {
+            log.error("Task archiving failed after {} tasks: {}", moved, e.getMessage(), e);
+        }
+
+        log.info("Task archiving: moved {} tasks done before {} in {} batches, {} ms",
+                moved, cutoff, batches, System.currentTimeMillis() - started);
+        return moved;
+    }
+
+    // One transaction per batch, so the row locks are released before the pause
+    private int archiveBatch(LocalDateTime cutoff) {
+        Integer count = transactionTemplate.execute(status -> archivedTaskRepository.archiveBatch(cutoff, batchSize));
+        return count != null ? count : 0;
+    }
+
+    private void throttle() {
+        if (batchPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
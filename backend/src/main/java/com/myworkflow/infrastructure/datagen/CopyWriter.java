@@ -0,0 +1,82 @@
+package com.myworkflow.infrastructure.datagen;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Streams rows into one COPY ... FROM STDIN in text format, handing the driver
+ * about a megabyte at a time. Nothing is loaded unless {@link #finish()} is called.
+ */
+class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(FLUSH_BYTES + 4096);
+    private final StringBuilder row = new StringBuilder(512);
+    private boolean rowStarted;
+    private long rows;
+
+    CopyWriter(CopyManager copyManager, String table, String... columns) throws SQLException {
+        this.copyIn = copyManager.copyIn("COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN");
+    }
+
+    CopyWriter value(Object value) {
+        if (rowStarted) {
+            row.append('\t');
+        }
+        rowStarted = true;
+        if (value == null) {
+            row.append("\\N");
+            return this;
+        }
+
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> row.append("\\\\");
+                case '\t' -> row.append("\\t");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                default -> row.append(c);
+            }
+        }
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        row.append('\n');
+        buffer.writeBytes(row.toString().getBytes(StandardCharsets.UTF_8));
+        row.setLength(0);
+        rowStarted = false;
+        rows++;
+        if (buffer.size() >= FLUSH_BYTES) {
+            flush();
+        }
+    }
+
+    // Sends what is left and completes the COPY, returning the number of rows written
+    long finish() throws SQLException {
+        flush();
+        copyIn.endCopy();
+        return rows;
+    }
+
+    private void flush() throws SQLException {
+        copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+        buffer.reset();
+    }
+
+    // Abandons a COPY that was not finished, e.g. after a failed row
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+}
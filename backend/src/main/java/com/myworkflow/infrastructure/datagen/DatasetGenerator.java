@@ -0,0 +1,334 @@
+package com.myworkflow.infrastructure.datagen;
+
+import com.myworkflow.domain.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a synthetic data set and exits, when started with the
+ * datagen profile (see scripts/generate-dataset.sh). The same seed and settings
+ * always produce the same rows, whatever ids the database hands out: every user,
+ * project and task draws from its own random stream seeded from the seed and its
+ * position in the run, and names are numbered by that position too. Only the ids
+ * differ, and the emails, which carry the user id to stay unique. Rows are appended
+ * after the existing ones and loaded with COPY, one pass per table, in a single
+ * transaction.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+public class DatasetGenerator implements ApplicationRunner {
+
+    // Generated users sign in as user<id>@datagen.example.com with datagen.password, e.g. in load tests
+    public static final String EMAIL_DOMAIN = "@datagen.example.com";
+
+    private static final String[] FIRST_NAMES = {
+            "Amina", "Lucas", "Sofia", "Yassine", "Emma", "Noah", "Lea", "Omar", "Chloe", "Hugo", "Ines", "Adam"};
+
+    private static final String[] VERBS = {
+            "Review", "Draft", "Fix", "Update", "Plan", "Test", "Deploy", "Design", "Document", "Refactor",
+            "Prepare", "Migrate", "Audit", "Estimate", "Schedule", "Automate", "Clean up", "Investigate"};
+    private static final String[] NOUNS = {
+            "onboarding flow", "billing page", "release notes", "API client", "search index", "dashboard",
+            "invoice export", "login screen", "mobile layout", "backup job", "sprint board", "pricing table",
+            "email templates", "access rules", "data model", "support queue", "status page", "roadmap"};
+    private static final String[] WORDS = {
+            "the", "customer", "report", "needs", "before", "release", "check", "with", "team", "and",
+            "update", "numbers", "for", "next", "review", "meeting", "notes", "from", "last", "week",
+            "performance", "issue", "design", "feedback", "priority", "deadline", "scope", "budget"};
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    private final long seed;
+    private final int users;
+    private final String password;
+    private final boolean exitWhenDone;
+    private final Distribution projectsPerUser;
+    private final Distribution tasksPerProject;
+    private final Distribution accountAgeDays;
+    private final Distribution descriptionWords;
+    private final Distribution dueInDays;
+    private final double withoutDueDate;
+    private final double withoutDescription;
+    private final Map<TaskStatus, Double> statusWeights;
+
+    public DatasetGenerator(
+            DataSource dataSource,
+            PasswordEncoder passwordEncoder,
+            ConfigurableApplicationContext context,
+            @Value("${datagen.seed:42}") long seed,
+            @Value("${datagen.users:1000}") int users,
+            @Value("${datagen.password:password123}") String password,
+            @Value("${datagen.exit:true}") boolean exitWhenDone,
+            @Value("${datagen.projects-per-user:lognormal:20:0.8}") String projectsPerUser,
+            @Value("${datagen.tasks-per-project:lognormal:50:1.0}") String tasksPerProject,
+            @Value("${datagen.account-age-days:exponential:365}") String accountAgeDays,
+            @Value("${datagen.description-words:uniform:0:60}") String descriptionWords,
+            @Value("${datagen.due-in-days:normal:7:30}") String dueInDays,
+            @Value("${datagen.without-due-date:0.25}") double withoutDueDate,
+            @Value("${datagen.without-description:0.2}") double withoutDescription,
+            @Value("${datagen.status-weights:TODO:30,IN_PROGRESS:15,DONE:55}") String statusWeights
+    ) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+        this.seed = seed;
+        this.users = users;
+        this.password = password;
+        this.exitWhenDone = exitWhenDone;
+        this.projectsPerUser = Distribution.parse(projectsPerUser);
+        this.tasksPerProject = Distribution.parse(tasksPerProject);
+        this.accountAgeDays = Distribution.parse(accountAgeDays);
+        this.descriptionWords = Distribution.parse(descriptionWords);
+        this.dueInDays = Distribution.parse(dueInDays);
+        this.withoutDueDate = withoutDueDate;
+        this.withoutDescription = withoutDescription;
+        this.statusWeights = parseWeights(statusWeights);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        generate();
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    public void generate() throws SQLException {
+        // Fixed for the whole run, so all timestamps derive from the same instant
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        // BCrypt is slow on purpose, every user shares one hash
+        String passwordHash = passwordEncoder.encode(password);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                Ids first = new Ids(nextId(connection, Table.USERS), nextId(connection, Table.PROJECTS),
+                        nextId(connection, Table.TASKS));
+                log.info("Generating {} users with seed {}, ids from {}/{}/{}",
+                        users, seed, first.user(), first.project(), first.task());
+
+                Map<Table, Long> loaded = new EnumMap<>(Table.class);
+                for (Table table : Table.values()) {
+                    long started = System.currentTimeMillis();
+                    long rows = load(copyManager, table, first, now, passwordHash);
+                    long millis = Math.max(1, System.currentTimeMillis() - started);
+                    loaded.put(table, rows);
+                    log.info("Loaded {} {} in {} ms ({} rows/s)", rows, table.name, millis, rows * 1000 / millis);
+                }
+
+                // Ids were assigned here, move the sequences past them
+                setNextId(connection, Table.USERS, first.user() + loaded.get(Table.USERS));
+                setNextId(connection, Table.PROJECTS, first.project() + loaded.get(Table.PROJECTS));
+                setNextId(connection, Table.TASKS, first.task() + loaded.get(Table.TASKS));
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+
+            // Outside the load transaction: planner statistics for the new rows
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE users, projects, tasks");
+            }
+        }
+    }
+
+    private long load(CopyManager copyManager, Table table, Ids first, LocalDateTime now, String passwordHash)
+            throws SQLException {
+        try (CopyWriter writer = new CopyWriter(copyManager, table.name, table.columns)) {
+            long projectId = first.project();
+            long taskId = first.task();
+
+            for (int u = 0; u < users; u++) {
+                long userId = first.user() + u;
+                SplittableRandom random = random(u, 1);
+                LocalDateTime userCreated = now.minusMinutes(Math.round(accountAgeDays.sample(random) * 24 * 60));
+                int projects = projectsPerUser.sampleCount(random);
+
+                if (table == Table.USERS) {
+                    writer.value(userId).value("user" + userId + EMAIL_DOMAIN).value(passwordHash)
+                            .value(pick(random, FIRST_NAMES)).value("User " + (u + 1)).value(null)
+                            .value(userCreated).value(userCreated);
+                    writer.endRow();
+                    continue;
+                }
+
+                for (int p = 0; p < projects; p++, projectId++) {
+                    long projectIndex = projectId - first.project();
+                    SplittableRandom projectRandom = random(projectIndex, 2);
+                    LocalDateTime projectCreated = between(projectRandom, userCreated, now);
+                    int tasks = tasksPerProject.sampleCount(projectRandom);
+
+                    if (table == Table.PROJECTS) {
+                        writer.value(projectId).value(capitalize(pick(projectRandom, NOUNS)) + " " + (projectIndex + 1))
+                                .value(sentence(projectRandom, descriptionWords.sampleCount(projectRandom)))
+                                .value(userId).value(projectCreated).value(between(projectRandom, projectCreated, now));
+                        writer.endRow();
+                        continue;
+                    }
+
+                    for (int t = 0; t < tasks; t++, taskId++) {
+                        writeTask(writer, random(taskId - first.task(), 3), taskId, projectId, projectCreated, now);
+                    }
+                }
+            }
+            return writer.finish();
+        }
+    }
+
+    private void writeTask(CopyWriter writer, SplittableRandom random, long taskId, long projectId,
+                           LocalDateTime projectCreated, LocalDateTime now) throws SQLException {
+        LocalDateTime created = between(random, projectCreated, now);
+        LocalDate dueDate = random.nextDouble() < withoutDueDate
+                ? null
+                : created.toLocalDate().plusDays(Math.round(dueInDays.sample(random)));
+        String description = random.nextDouble() < withoutDescription
+                ? null
+                : sentence(random, descriptionWords.sampleCount(random));
+
+        writer.value(taskId)
+                .value(pick(random, VERBS) + " " + pick(random, NOUNS))
+                .value(description)
+                .value(dueDate)
+                .value(status(random))
+                .value(projectId)
+                .value(created)
+                .value(between(random, created, now));
+        writer.endRow();
+    }
+
+    private String status(SplittableRandom random) {
+        double total = statusWeights.values().stream().mapToDouble(Double::doubleValue).sum();
+        double roll = random.nextDouble() * total;
+        for (Map.Entry<TaskStatus, Double> weight : statusWeights.entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey().name();
+            }
+        }
+        return statusWeights.keySet().iterator().next().name();
+    }
+
+    // Independent stream per row and table, so a row does not depend on the ones before it.
+    // Keyed by the row's index in this run, not its id, so rerunning on a database that
+    // already holds rows gives the same data
+    private SplittableRandom random(long index, int stream) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index * 31 + stream);
+    }
+
+    private static LocalDateTime between(SplittableRandom random, LocalDateTime from, LocalDateTime to) {
+        long seconds = Math.max(1, ChronoUnit.SECONDS.between(from, to));
+        return from.plusSeconds(random.nextLong(seconds));
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        if (words == 0) {
+            return null;
+        }
+        StringBuilder sentence = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            sentence.append(i == 0 ? capitalize(pick(random, WORDS)) : " " + pick(random, WORDS));
+        }
+        return sentence.append('.').toString();
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    // From the sequence rather than max(id): archived and deleted tasks keep their ids taken
+    private static long nextId(Connection connection, Table table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT nextval(pg_get_serial_sequence('" + table.name + "', 'id'))")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void setNextId(Connection connection, Table table, long nextId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval(pg_get_serial_sequence('" + table.name + "', 'id'), " + nextId + ", false)");
+        }
+    }
+
+    // Rejected at startup, a typo would otherwise only fail the COPY after every user was generated
+    static Map<TaskStatus, Double> parseWeights(String spec) {
+        Map<TaskStatus, Double> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid status weight '" + entry.trim() + "'");
+            }
+            TaskStatus status = Arrays.stream(TaskStatus.values())
+                    .filter(value -> value.name().equals(parts[0]))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown task status '" + parts[0]
+                            + "', expected one of " + Arrays.toString(TaskStatus.values())));
+            double weight;
+            try {
+                weight = Double.parseDouble(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid status weight '" + entry.trim() + "'", e);
+            }
+            if (weight < 0 || weights.put(status, weight) != null) {
+                throw new IllegalArgumentException("Invalid status weight '" + entry.trim() + "'");
+            }
+        }
+        if (weights.values().stream().mapToDouble(Double::doubleValue).sum() <= 0) {
+            throw new IllegalArgumentException("Status weights '" + spec + "' must not all be zero");
+        }
+        return weights;
+    }
+
+    private record Ids(long user, long project, long task) {
+    }
+
+    private enum Table {
+        USERS("users", "id", "email", "password", "first_name", "last_name", "profile_image_url",
+                "created_at", "updated_at"),
+        PROJECTS("projects", "id", "title", "description", "user_id", "created_at", "updated_at"),
+        TASKS("tasks", "id", "title", "description", "due_date", "status", "project_id",
+                "created_at", "updated_at");
+
+        private final String name;
+        private final String[] columns;
+
+        Table(String name, String... columns) {
+            this.name = name;
+            this.columns = columns;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.myworkflow.infrastructure.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Shape of a generated quantity, written in properties as {@code name:arg:arg}:
+ * <ul>
+ *     <li>{@code constant:50}</li>
+ *     <li>{@code uniform:10:200}, min and max inclusive</li>
+ *     <li>{@code normal:14:21}, mean and standard deviation</li>
+ *     <li>{@code exponential:30}, mean</li>
+ *     <li>{@code lognormal:100:1.0}, median and sigma: a long tail of heavy users and
+ *     projects, like production data</li>
+ * </ul>
+ */
+public interface Distribution {
+
+    double sample(SplittableRandom random);
+
+    default int sampleCount(SplittableRandom random) {
+        return (int) Math.max(0, Math.round(sample(random)));
+    }
+
+    static Distribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        try {
+            return switch (parts[0]) {
+                case "constant" -> {
+                    double value = arg(parts, 1);
+                    yield random -> value;
+                }
+                case "uniform" -> {
+                    double min = arg(parts, 1);
+                    double max = arg(parts, 2);
+                    yield random -> min + random.nextDouble() * (max - min);
+                }
+                case "normal" -> {
+                    double mean = arg(parts, 1);
+                    double stddev = arg(parts, 2);
+                    yield random -> mean + stddev * gaussian(random);
+                }
+                case "exponential" -> {
+                    double mean = arg(parts, 1);
+                    yield random -> -mean * Math.log(1 - random.nextDouble());
+                }
+                case "lognormal" -> {
+                    double median = arg(parts, 1);
+                    double sigma = arg(parts, 2);
+                    yield random -> median * Math.exp(sigma * gaussian(random));
+                }
+                default -> throw new IllegalArgumentException("Unknown distribution: " + parts[0]);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid distribution '" + spec + "'", e);
+        }
+    }
+
+    private static double arg(String[] parts, int index) {
+        return Double.parseDouble(parts[index]);
+    }
+
+    // Box-Muller, SplittableRandom has no nextGaussian on Java 17
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
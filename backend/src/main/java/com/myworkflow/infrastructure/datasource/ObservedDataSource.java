@@ -0,0 +1,131 @@
+package com.myworkflow.infrastructure.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.InfrastructureProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Times every statement executed through its connections and reports it, with
+ * its bound parameters, to the {@link StatementListener}s. Only handed to Hibernate, so the pool beans keep
+ * their own types. As an {@link InfrastructureProxy} it shares transaction-bound
+ * connections with its target.
+ */
+@Slf4j
+public class ObservedDataSource extends DelegatingDataSource implements InfrastructureProxy {
+
+    private final List<StatementListener> listeners;
+
+    public ObservedDataSource(DataSource target, List<StatementListener> listeners) {
+        super(target);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return observe(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return observe(super.getConnection(username, password));
+    }
+
+    @Override
+    public Object getWrappedObject() {
+        return obtainTargetDataSource();
+    }
+
+    private Connection observe(Connection connection) {
+        if (listeners.isEmpty()) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return observe(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return observe(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return observe(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private <S extends Statement> S observe(Class<S> type, S statement, String preparedSql) {
+        List<Object> parameters = new ArrayList<>();
+        return proxy(type, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index && index > 0) {
+                bind(parameters, index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            if (!name.startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                return invoke(statement, method, args);
+            } catch (Throwable e) {
+                error = e;
+                throw e;
+            } finally {
+                List<Object> bound = parameters.isEmpty()
+                        ? List.of()
+                        : Collections.unmodifiableList(new ArrayList<>(parameters));
+                notify(new StatementExecution(sql, bound, start, System.nanoTime(), error));
+            }
+        });
+    }
+
+    private static void bind(List<Object> parameters, int index, Object value) {
+        while (parameters.size() < index) {
+            parameters.add(null);
+        }
+        parameters.set(index - 1, value);
+    }
+
+    private void notify(StatementExecution execution) {
+        for (StatementListener listener : listeners) {
+            try {
+                listener.executed(execution);
+            } catch (RuntimeException e) {
+                log.warn("Statement listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.myworkflow.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Periodic probe of the replica. It counts as down when it cannot be reached or
+ * when its replay lag exceeds the configured maximum; reads go back to it after
+ * the next passing check. A plain Postgres instance that is not in recovery
+ * reports no lag, so two independent local databases work for testing.
+ */
+@Slf4j
+public class ReplicaHealth {
+
+    // Zero while the replica has replayed everything it received, so an idle primary does not look like lag
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final int timeoutSeconds;
+
+    private volatile boolean up = true;
+    private volatile double lagSeconds;
+
+    public ReplicaHealth(DataSource replica, Duration maxLag, Duration timeout) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+
+        Metrics.gauge("datasource.replica.up", this, health -> health.up ? 1 : 0);
+        Metrics.gauge("datasource.replica.lag.seconds", this, health -> health.lagSeconds);
+    }
+
+    public boolean isUp() {
+        return up;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval:PT5S}")
+    public void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                lagSeconds = resultSet.getDouble(1);
+            }
+        } catch (SQLException e) {
+            markDown(e);
+            return;
+        }
+
+        if (lagSeconds * 1000 > maxLag.toMillis()) {
+            if (up) {
+                log.warn("Replica lag {}s exceeds {}, routing reads to the primary", lagSeconds, maxLag);
+            }
+            up = false;
+            return;
+        }
+        if (!up) {
+            log.info("Replica healthy again (lag {}s), routing read-only transactions to it", lagSeconds);
+        }
+        up = true;
+    }
+
+    void markDown(SQLException cause) {
+        if (up) {
+            log.warn("Replica unavailable, routing reads to the primary: {}", cause.getMessage());
+        }
+        up = false;
+    }
+}
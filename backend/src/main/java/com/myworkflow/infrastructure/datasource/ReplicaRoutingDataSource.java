@@ -0,0 +1,164 @@
+package com.myworkflow.infrastructure.datasource;
+
+import com.myworkflow.domain.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything
+ * else to the primary. A user who committed a write keeps reading from the
+ * primary for the sticky window, so replication lag never hides their own
+ * changes. While {@link ReplicaHealth} reports the replica down, or when it
+ * refuses a connection, reads fall back to the primary.
+ *
+ * <p>The decision is taken when the connection is requested, so this has to sit
+ * behind a {@code LazyConnectionDataSourceProxy}: the transaction's read-only flag
+ * is only known once the first statement runs.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealth health;
+    private final long stickyWindowNanos;
+    private final int maxStickyUsers;
+
+    // userId -> System.nanoTime() until which the user reads from the primary
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    private final Counter writes;
+    private final Counter reads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            ReplicaHealth health,
+            Duration stickyWindow,
+            int maxStickyUsers
+    ) {
+        this.primary = primary;
+        this.replica = replica;
+        this.health = health;
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        this.maxStickyUsers = maxStickyUsers;
+
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+        this.writes = routed("primary", "write");
+        this.reads = routed("replica", "read");
+        this.stickyReads = routed("primary", "sticky");
+        this.fallbackReads = routed("primary", "fallback");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            stickAfterCommit();
+            return Target.PRIMARY;
+        }
+        if (!health.isUp()) {
+            fallbackReads.increment();
+            return Target.PRIMARY;
+        }
+        if (isSticky(currentUserId())) {
+            stickyReads.increment();
+            return Target.PRIMARY;
+        }
+        reads.increment();
+        return Target.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return target.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            // Serve this read from the primary and keep doing so until the next health check passes
+            health.markDown(e);
+            fallbackReads.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Per-call credentials are not supported by the replica routing data source");
+    }
+
+    private boolean isSticky(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(userId, until);
+        return false;
+    }
+
+    // The window starts at commit, when the write becomes visible to replication
+    private void stickAfterCommit() {
+        Long userId = currentUserId();
+        if (userId == null || stickyWindowNanos <= 0
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stick(userId);
+            }
+        });
+    }
+
+    private void stick(long userId) {
+        long now = System.nanoTime();
+        if (stickyUntil.size() >= maxStickyUsers) {
+            stickyUntil.values().removeIf(until -> until - now <= 0);
+        }
+        stickyUntil.put(userId, now + stickyWindowNanos);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private static Counter routed(String target, String reason) {
+        return Counter.builder("datasource.routing")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,297 @@
+package com.myworkflow.infrastructure.datasource;
+
+import com.myworkflow.application.dto.response.SlowQueryResponse;
+import com.myworkflow.infrastructure.metrics.RepositoryStatementMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Statements slower than slow-query.threshold, grouped by SQL text with the
+ * repository method that ran them and the bound values of the slowest run. The
+ * values stay in this admin-only store, never in the log, and values bound to a
+ * password, secret or token column are redacted even here. Only
+ * the slow-query.max-entries slowest statements are kept: a new one replaces the
+ * fastest entry if it is slower. For a sampled share of slow SELECTs an
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} runs in the background with the same values,
+ * inside a read-only transaction that is rolled back (PostgreSQL only). The
+ * EXPLAIN goes to the read replica when one is configured, so sampling never re-runs
+ * the slowest reads on the primary; without a replica it uses the primary.
+ */
+@Slf4j
+@Component
+public class SlowQueryLog implements StatementListener {
+
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(?:\\s*,\\s*\\?)+\\)");
+    private static final Pattern DML = Pattern.compile("\\b(insert|update|delete|merge)\\b");
+    private static final Pattern SENSITIVE_COLUMN = Pattern.compile("password|secret|token", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INSERT_COLUMNS = Pattern.compile(
+            "^insert into \\S+ ?\\(([^)]*)\\) values ?\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COMPARED_COLUMN = Pattern.compile(
+            "([\\w.]+)\\s*(?:=|<>|!=|<=|>=|<|>|\\blike)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final String REDACTED = "<redacted>";
+
+    private final RepositoryStatementMetrics repositories;
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectProvider<DataSource> replicaDataSource;
+    private final TaskExecutor explainExecutor;
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final int maxEntries;
+    private final double explainSampleRate;
+    private final int explainTimeoutSeconds;
+
+    // Keyed by normalized SQL, guarded by this
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    // Unknown until the first EXPLAIN attempt
+    private volatile Boolean explainSupported;
+
+    public SlowQueryLog(
+            RepositoryStatementMetrics repositories,
+            ObjectProvider<DataSource> dataSource,
+            @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+            @Qualifier("slowQueryExplainExecutor") TaskExecutor explainExecutor,
+            @Value("${slow-query.enabled:true}") boolean enabled,
+            @Value("${slow-query.threshold:PT0.2S}") Duration threshold,
+            @Value("${slow-query.max-entries:50}") int maxEntries,
+            @Value("${slow-query.explain.sample-rate:0.1}") double explainSampleRate,
+            @Value("${slow-query.explain.timeout:PT10S}") Duration explainTimeout
+    ) {
+        this.repositories = repositories;
+        this.dataSource = dataSource;
+        this.replicaDataSource = replicaDataSource;
+        this.explainExecutor = explainExecutor;
+        this.enabled = enabled;
+        this.thresholdNanos = threshold.toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+        this.explainSampleRate = explainSampleRate;
+        this.explainTimeoutSeconds = (int) Math.max(1, explainTimeout.toSeconds());
+    }
+
+    @Override
+    public void executed(StatementExecution execution) {
+        if (!enabled || execution.durationNanos() < thresholdNanos || execution.sql() == null) {
+            return;
+        }
+
+        String sql = normalize(execution.sql());
+        String caller = repositories.currentMethod();
+        List<String> parameters = format(execution.sql(), execution.parameters());
+        log.warn("Slow query, {} ms{}: {}", execution.durationNanos() / 1_000_000,
+                caller != null ? " in " + caller : "", sql);
+        Counter.builder("db.slow.queries")
+                .description("Statements slower than slow-query.threshold")
+                .tag("method", caller != null ? caller : "none")
+                .register(Metrics.globalRegistry)
+                .increment();
+
+        Entry entry = record(sql, caller, execution, parameters);
+        if (entry != null && isSelect(sql) && !Boolean.FALSE.equals(explainSupported)
+                && ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+            List<Object> values = execution.parameters();
+            explainExecutor.execute(() -> explain(entry, execution.sql(), values));
+        }
+    }
+
+    // Slowest first
+    public synchronized List<SlowQueryResponse> entries() {
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong((Entry entry) -> entry.maxNanos).reversed())
+                .map(Entry::toResponse)
+                .toList();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private synchronized Entry record(String sql, String caller, StatementExecution execution, List<String> parameters) {
+        Entry entry = entries.get(sql);
+        if (entry == null) {
+            if (entries.size() >= maxEntries) {
+                Entry fastest = entries.values().stream()
+                        .min(Comparator.comparingLong(candidate -> candidate.maxNanos))
+                        .orElseThrow();
+                if (fastest.maxNanos >= execution.durationNanos()) {
+                    return null;
+                }
+                entries.remove(fastest.sql);
+            }
+            entry = new Entry(sql);
+            entries.put(sql, entry);
+        }
+        entry.add(caller, execution, parameters);
+        return entry;
+    }
+
+    private void explain(Entry entry, String sql, List<Object> parameters) {
+        // The routing DataSource would pick the primary here, outside any read-only transaction
+        DataSource target = replicaDataSource.getIfAvailable(dataSource::getIfAvailable);
+        if (target == null) {
+            return;
+        }
+        try (Connection connection = target.getConnection()) {
+            if (explainSupported == null) {
+                explainSupported = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            }
+            if (!explainSupported) {
+                return;
+            }
+
+            // ANALYZE runs the statement, the rollback makes sure nothing it did is kept
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                statement.setQueryTimeout(explainTimeoutSeconds);
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                synchronized (this) {
+                    entry.plan = plan.toString();
+                    entry.planCapturedAt = LocalDateTime.now();
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not EXPLAIN slow query {}", sql, e);
+        }
+    }
+
+    private static String normalize(String sql) {
+        String text = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+        return IN_LIST.matcher(text).replaceAll("(?, ...)");
+    }
+
+    private static boolean isSelect(String sql) {
+        String text = sql.toLowerCase(Locale.ROOT);
+        return text.startsWith("select") || (text.startsWith("with") && !DML.matcher(text).find());
+    }
+
+    private static List<String> format(String sql, List<Object> values) {
+        List<String> columns = boundColumns(sql);
+        List<String> formatted = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            String column = i < columns.size() ? columns.get(i) : null;
+            formatted.add(column != null && SENSITIVE_COLUMN.matcher(column).find() ? REDACTED : format(values.get(i)));
+        }
+        return formatted;
+    }
+
+    // Column each placeholder is bound to, from an INSERT column list or a comparison
+    // right before it; null where the SQL does not say
+    private static List<String> boundColumns(String sql) {
+        String text = sql.trim();
+        List<String> columns = new ArrayList<>();
+        int from = 0;
+
+        Matcher insert = INSERT_COLUMNS.matcher(text);
+        if (insert.find()) {
+            String[] names = insert.group(1).split(",");
+            String[] values = insert.group(2).split(",");
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].trim().equals("?")) {
+                    columns.add(i < names.length ? names[i].trim() : null);
+                }
+            }
+            from = insert.end();
+        }
+
+        for (int i = text.indexOf('?', from); i >= 0; i = text.indexOf('?', i + 1)) {
+            Matcher compared = COMPARED_COLUMN.matcher(text.substring(Math.max(from, i - 100), i));
+            columns.add(compared.find() ? compared.group(1) : null);
+        }
+        return columns;
+    }
+
+    private static String format(Object value) {
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+
+    private static final class Entry {
+
+        private final String sql;
+        private final LocalDateTime firstSeen = LocalDateTime.now();
+        private String repositoryMethod;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private LocalDateTime lastSeen;
+        private List<String> parameters;
+        private String lastError;
+        private String plan;
+        private LocalDateTime planCapturedAt;
+
+        private Entry(String sql) {
+            this.sql = sql;
+        }
+
+        private void add(String caller, StatementExecution execution, List<String> parameters) {
+            long nanos = execution.durationNanos();
+            count++;
+            totalNanos += nanos;
+            lastSeen = LocalDateTime.now();
+            if (caller != null) {
+                repositoryMethod = caller;
+            }
+            if (nanos >= maxNanos) {
+                maxNanos = nanos;
+                this.parameters = parameters;
+            }
+            if (execution.error() != null) {
+                lastError = execution.error().getMessage();
+            }
+        }
+
+        private SlowQueryResponse toResponse() {
+            return SlowQueryResponse.builder()
+                    .sql(sql)
+                    .repositoryMethod(repositoryMethod)
+                    .count(count)
+                    .maxMillis(maxNanos / 1_000_000.0)
+                    .meanMillis(totalNanos / 1_000_000.0 / count)
+                    .firstSeen(firstSeen)
+                    .lastSeen(lastSeen)
+                    .parameters(parameters)
+                    .lastError(lastError)
+                    .plan(plan)
+                    .planCapturedAt(planCapturedAt)
+                    .build();
+        }
+    }
+}
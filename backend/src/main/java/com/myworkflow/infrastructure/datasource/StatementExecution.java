@@ -0,0 +1,21 @@
+package com.myworkflow.infrastructure.datasource;
+
+import java.util.List;
+
+/**
+ * One statement execution seen by {@link ObservedDataSource}. Times are
+ * System.nanoTime() readings; {@code parameters} are the values bound by position,
+ * starting at index 0 for parameter 1; {@code error} is null when the statement succeeded.
+ */
+public record StatementExecution(
+        String sql,
+        List<Object> parameters,
+        long startNanos,
+        long endNanos,
+        Throwable error
+) {
+
+    public long durationNanos() {
+        return endNanos - startNanos;
+    }
+}
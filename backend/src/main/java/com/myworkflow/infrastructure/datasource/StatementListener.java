@@ -0,0 +1,11 @@
+package com.myworkflow.infrastructure.datasource;
+
+/**
+ * Called on the executing thread after every statement run through
+ * {@link ObservedDataSource}. Listeners must be quick and must not throw.
+ */
+@FunctionalInterface
+public interface StatementListener {
+
+    void executed(StatementExecution execution);
+}
@@ -0,0 +1,96 @@
+package com.myworkflow.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements Hibernate prepares during each repository call,
+ * published as the repository.statements summary with the same repository and
+ * method tags as Spring Boot's spring.data.repository.invocations timer, which
+ * already has the durations. A method whose count grows with the data, e.g.
+ * through lazy loads, stands out next to the one-statement methods. Calls and
+ * statements are also reported to the request's {@link ServerTiming}.
+ */
+public class RepositoryStatementMetrics implements StatementInspector {
+
+    private final ThreadLocal<Call> current = new ThreadLocal<>();
+
+    // An inspector configured before this one, still called for every statement
+    private volatile StatementInspector next;
+
+    public void chain(StatementInspector next) {
+        this.next = next;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Call call = current.get();
+        if (call != null) {
+            call.statements++;
+        }
+        ServerTiming.recordStatement(call != null ? call.target.label : null, sql);
+
+        StatementInspector inspector = next;
+        return inspector != null ? inspector.inspect(sql) : sql;
+    }
+
+    // e.g. TaskRepository.findByProjectId, or null outside a repository call
+    public String currentMethod() {
+        Call call = current.get();
+        return call != null ? call.target.label : null;
+    }
+
+    // Inherited methods such as findById are tagged with the repository they were called on
+    public MethodInterceptor interceptor(Class<?> repositoryInterface) {
+        Map<Method, Target> targets = new ConcurrentHashMap<>();
+        return invocation -> {
+            // Statements of a nested repository call count towards the outer one
+            if (current.get() != null) {
+                return invocation.proceed();
+            }
+
+            Call call = new Call(targets.computeIfAbsent(invocation.getMethod(),
+                    method -> new Target(repositoryInterface, method)));
+            current.set(call);
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                current.remove();
+                ServerTiming.recordDatabaseCall(System.nanoTime() - start, call.statements);
+                call.target.statements.record(call.statements);
+            }
+        };
+    }
+
+    private static final class Target {
+
+        private final String label;
+        private final DistributionSummary statements;
+
+        private Target(Class<?> repositoryInterface, Method method) {
+            this.label = repositoryInterface.getSimpleName() + "." + method.getName();
+            this.statements = DistributionSummary.builder("repository.statements")
+                    .description("SQL statements prepared per repository call")
+                    .tag("repository", repositoryInterface.getSimpleName())
+                    .tag("method", method.getName())
+                    .register(Metrics.globalRegistry);
+        }
+    }
+
+    private static final class Call {
+
+        private final Target target;
+        private int statements;
+
+        private Call(Target target) {
+            this.target = target;
+        }
+    }
+}
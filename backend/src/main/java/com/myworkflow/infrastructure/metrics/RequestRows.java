@@ -0,0 +1,44 @@
+package com.myworkflow.infrastructure.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Number of rows the current request covered, e.g. all tasks matching a listing,
+ * kept as a request attribute and turned into a coarse bucket for the endpoint
+ * latency tags. Heavy users can then be told apart from light ones without one
+ * time series per user. Calls outside a request are ignored.
+ */
+public final class RequestRows {
+
+    static final String ATTRIBUTE = RequestRows.class.getName();
+    static final String NONE = "none";
+
+    private static final long[] BOUNDS = {0, 10, 100, 1_000, 10_000};
+    private static final String[] BUCKETS = {"0", "1-10", "11-100", "101-1000", "1001-10000", "10000+"};
+
+    private RequestRows() {
+    }
+
+    public static void record(long rows) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, rows, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    static String bucket(HttpServletRequest request) {
+        Object rows = request.getAttribute(ATTRIBUTE);
+        return rows instanceof Long value ? bucket(value) : NONE;
+    }
+
+    static String bucket(long rows) {
+        for (int i = 0; i < BOUNDS.length; i++) {
+            if (rows <= BOUNDS[i]) {
+                return BUCKETS[i];
+            }
+        }
+        return BUCKETS[BUCKETS.length - 1];
+    }
+}
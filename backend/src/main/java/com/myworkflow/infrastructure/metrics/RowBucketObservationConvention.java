@@ -0,0 +1,20 @@
+package com.myworkflow.infrastructure.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * The usual http.server.requests tags plus {@code rows}, the bucket a service
+ * recorded through {@link RequestRows}. Key values are read again when the
+ * observation stops, after the handler has run.
+ */
+public class RowBucketObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of("rows", RequestRows.bucket(context.getCarrier())));
+    }
+}
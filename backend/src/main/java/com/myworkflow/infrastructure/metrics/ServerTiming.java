@@ -0,0 +1,112 @@
+package com.myworkflow.infrastructure.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Where one API request spent its time, collected on the request thread and sent
+ * back as a Server-Timing header:
+ * <ul>
+ *     <li>{@code auth}: the JWT filter, including its user lookup</li>
+ *     <li>{@code db}: repository calls and direct queries, with the number of calls and SQL statements</li>
+ *     <li>{@code json}: writing the response body</li>
+ *     <li>{@code app}: the rest, mostly controller and service code</li>
+ *     <li>{@code total}: everything from the first filter on</li>
+ * </ul>
+ * The static hooks do nothing on threads without a collector, e.g. scheduled jobs.
+ */
+public final class ServerTiming {
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final int MAX_QUERIES = 200;
+
+    private final long start = System.nanoTime();
+    private final List<String> queries;
+
+    private long authNanos;
+    private long dbNanos;
+    private long dbDuringAuthNanos;
+    private long jsonNanos;
+    private int databaseCalls;
+    private int statements;
+    private boolean inAuth;
+    private long totalNanos;
+
+    private ServerTiming(boolean recordQueries) {
+        this.queries = recordQueries ? new ArrayList<>() : null;
+    }
+
+    static ServerTiming begin(boolean recordQueries) {
+        ServerTiming timing = new ServerTiming(recordQueries);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    void end() {
+        totalNanos = System.nanoTime() - start;
+        CURRENT.remove();
+    }
+
+    public static long startAuth() {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.inAuth = true;
+        }
+        return System.nanoTime();
+    }
+
+    public static void endAuth(long startNanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.inAuth = false;
+            timing.authNanos += System.nanoTime() - startNanos;
+        }
+    }
+
+    public static void recordDatabaseCall(long nanos, int statementCount) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.databaseCalls++;
+            timing.statements += statementCount;
+            timing.dbNanos += nanos;
+            if (timing.inAuth) {
+                timing.dbDuringAuthNanos += nanos;
+            }
+        }
+    }
+
+    static void recordStatement(String repositoryMethod, String sql) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null && timing.queries != null && timing.queries.size() < MAX_QUERIES) {
+            String text = sql.replaceAll("\\s+", " ").trim();
+            timing.queries.add(repositoryMethod != null ? repositoryMethod + ": " + text : text);
+        }
+    }
+
+    static void recordJson(long nanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.jsonNanos += nanos;
+        }
+    }
+
+    List<String> queries() {
+        return queries != null ? queries : List.of();
+    }
+
+    String header() {
+        // Repository time inside the JWT filter is already part of auth
+        long appNanos = Math.max(0, totalNanos - authNanos - (dbNanos - dbDuringAuthNanos) - jsonNanos);
+        return entry("auth", authNanos, null)
+                + ", " + entry("db", dbNanos, databaseCalls + " calls, " + statements + " statements")
+                + ", " + entry("json", jsonNanos, null)
+                + ", " + entry("app", appNanos, null)
+                + ", " + entry("total", totalNanos, null);
+    }
+
+    private static String entry(String name, long nanos, String description) {
+        String entry = String.format(Locale.ROOT, "%s;dur=%.1f", name, nanos / 1_000_000.0);
+        return description != null ? entry + ";desc=\"" + description + "\"" : entry;
+    }
+}
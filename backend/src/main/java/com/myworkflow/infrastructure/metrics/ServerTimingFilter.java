@@ -0,0 +1,102 @@
+package com.myworkflow.infrastructure.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Adds a Server-Timing header to every API response outside /api/admin/, ahead
+ * of the security filters so JWT verification is inside the measured time. The body is held back
+ * until the request is done, so the header can include the time spent writing it.
+ * With server-timing.debug-queries enabled, a request sending
+ * {@code X-Debug-Queries: true} also gets each SQL statement back as an
+ * X-Debug-Queries header, prefixed with the repository method that ran it.
+ * Those headers stop at server-timing.debug-queries-max-size, well under the
+ * 8 KB header limit of common proxies, and a last entry counts what was left out.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+    public static final String DEBUG_QUERIES = "X-Debug-Queries";
+
+    private final boolean enabled;
+    private final boolean debugQueries;
+    private final long debugQueriesMaxBytes;
+    private final List<String> allowedOrigins;
+
+    public ServerTimingFilter(
+            @Value("${server-timing.enabled:true}") boolean enabled,
+            @Value("${server-timing.debug-queries:false}") boolean debugQueries,
+            @Value("${server-timing.debug-queries-max-size:4KB}") DataSize debugQueriesMaxSize,
+            @Value("${cors.allowed-origins}") String[] allowedOrigins
+    ) {
+        this.enabled = enabled;
+        this.debugQueries = debugQueries;
+        this.debugQueriesMaxBytes = debugQueriesMaxSize.toBytes();
+        this.allowedOrigins = Arrays.asList(allowedOrigins);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        // Admin responses such as JFR dumps can be large, so they are not buffered
+        return !enabled || !path.startsWith("/api/") || path.startsWith("/api/admin/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        ServerTiming timing = ServerTiming.begin(debugQueries && "true".equals(request.getHeader(DEBUG_QUERIES)));
+
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            timing.end();
+            if (!wrapper.isCommitted()) {
+                wrapper.setHeader(SERVER_TIMING, timing.header());
+                addDebugQueries(wrapper, timing.queries());
+
+                // Lets the frontend's origin read the entries from the Resource Timing API
+                String origin = request.getHeader("Origin");
+                if (origin != null && allowedOrigins.contains(origin)) {
+                    wrapper.setHeader("Timing-Allow-Origin", origin);
+                }
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void addDebugQueries(HttpServletResponse response, List<String> queries) {
+        // Counts each header line as sent, name and separators included
+        long remaining = debugQueriesMaxBytes;
+        for (int i = 0; i < queries.size(); i++) {
+            String query = queries.get(i);
+            long size = DEBUG_QUERIES.length() + query.length() + 4;
+            if (size > remaining) {
+                response.addHeader(DEBUG_QUERIES, "... " + (queries.size() - i) + " more statements omitted");
+                return;
+            }
+            response.addHeader(DEBUG_QUERIES, query);
+            remaining -= size;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.myworkflow.infrastructure.profiling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An always-on Flight Recorder recording kept as an on-disk ring: JFR drops the
+ * oldest data once it is older than jfr.max-age or the recording grows past
+ * jfr.max-size. The JDK's "default" settings cost around 1% CPU and already
+ * include GC pauses, lock and park waits over 20 ms, execution samples and
+ * throttled allocation samples.
+ */
+@Slf4j
+@Component
+public class ContinuousRecording {
+
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess"
+    );
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+
+    private Recording recording;
+
+    public ContinuousRecording(
+            @Value("${jfr.enabled:true}") boolean enabled,
+            @Value("${jfr.settings:default}") String settings,
+            @Value("${jfr.max-age:PT30M}") Duration maxAge,
+            @Value("${jfr.max-size:250MB}") DataSize maxSize
+    ) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Recording started = new Recording(Configuration.getConfiguration(settings));
+            started.setName("myworkflow-continuous");
+            // Environment, system properties and command lines, of this JVM and of every other
+            // process on the host, would otherwise go into every chunk with DB_PASSWORD and JWT_SECRET
+            SENSITIVE_EVENTS.forEach(started::disable);
+            started.setToDisk(true);
+            started.setMaxAge(maxAge);
+            started.setMaxSize(maxSize.toBytes());
+            started.start();
+            recording = started;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            log.warn("Could not start the continuous JFR recording", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    public Duration maxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Writes the last {@code window} of the recording to a new temporary file,
+     * which the caller deletes. JFR stores data in chunks, so the file can start
+     * somewhat earlier than asked for.
+     */
+    public Path dump(Duration window) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("The continuous JFR recording is not running");
+        }
+        Path file = Files.createTempFile("myworkflow-", ".jfr");
+        // A stopped copy closes the current chunk, so the last seconds are included
+        try (Recording copy = recording.copy(true);
+             InputStream data = copy.getStream(Instant.now().minus(window), null)) {
+            if (data != null) {
+                Files.copy(data, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+}
@@ -0,0 +1,159 @@
+package com.myworkflow.infrastructure.profiling;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the events recorded since its last run from {@link ContinuousRecording}
+ * and publishes the heaviest entries as gauges, replaced on every run:
+ * <ul>
+ *     <li>{@code jfr.allocation.rate}: sampled bytes per second by allocation site,
+ *     the first frame outside the JDK</li>
+ *     <li>{@code jfr.execution.samples}: CPU samples by method on top of the stack</li>
+ *     <li>{@code jfr.contention.time}: seconds spent blocked on monitors or parked, by class,
+ *     e.g. Hikari's ConcurrentBag while the pool is exhausted</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class RecordingSummarizer {
+
+    private final ContinuousRecording recording;
+    private final int top;
+
+    private final MultiGauge allocationRate = MultiGauge.builder("jfr.allocation.rate")
+            .description("Sampled allocation rate of the top allocation sites over the last summary interval")
+            .baseUnit("bytes")
+            .register(Metrics.globalRegistry);
+    private final MultiGauge executionSamples = MultiGauge.builder("jfr.execution.samples")
+            .description("CPU samples of the hottest methods over the last summary interval")
+            .register(Metrics.globalRegistry);
+    private final MultiGauge contention = MultiGauge.builder("jfr.contention.time")
+            .description("Time threads spent blocked or parked over the last summary interval")
+            .baseUnit("seconds")
+            .register(Metrics.globalRegistry);
+
+    private Instant lastRun = Instant.now();
+
+    public RecordingSummarizer(ContinuousRecording recording, @Value("${jfr.summary.top:10}") int top) {
+        this.recording = recording;
+        this.top = top;
+    }
+
+    @Scheduled(fixedDelayString = "${jfr.summary.interval:PT1M}", initialDelayString = "${jfr.summary.interval:PT1M}")
+    public void summarize() {
+        if (!recording.isRunning()) {
+            return;
+        }
+        Instant since = lastRun;
+        lastRun = Instant.now();
+
+        Map<Tags, Long> allocations = new HashMap<>();
+        Map<Tags, Long> samples = new HashMap<>();
+        Map<Tags, Long> blocked = new HashMap<>();
+        Path file = null;
+        try {
+            file = recording.dump(Duration.between(since, lastRun));
+            if (Files.size(file) == 0) {
+                return;
+            }
+            try (RecordingFile events = new RecordingFile(file)) {
+                while (events.hasMoreEvents()) {
+                    RecordedEvent event = events.readEvent();
+                    // The dump starts at a chunk boundary, earlier events were counted last time
+                    if (event.getStartTime().isBefore(since)) {
+                        continue;
+                    }
+                    switch (event.getEventType().getName()) {
+                        case "jdk.ObjectAllocationSample" -> allocations.merge(
+                                Tags.of("site", allocationSite(event.getStackTrace())),
+                                event.getLong("weight"), Long::sum);
+                        case "jdk.ExecutionSample" -> samples.merge(
+                                Tags.of("method", topFrame(event.getStackTrace())), 1L, Long::sum);
+                        case "jdk.JavaMonitorEnter" -> blocked.merge(
+                                Tags.of("kind", "monitor", "class", className(event.getClass("monitorClass"))),
+                                event.getDuration().toNanos(), Long::sum);
+                        case "jdk.ThreadPark" -> blocked.merge(
+                                Tags.of("kind", "park", "class", className(event.getClass("parkedClass"))),
+                                event.getDuration().toNanos(), Long::sum);
+                        default -> {
+                        }
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not summarize the JFR recording", e);
+            return;
+        } finally {
+            deleteQuietly(file);
+        }
+
+        double seconds = Math.max(1, Duration.between(since, lastRun).toMillis()) / 1000.0;
+        allocationRate.register(rows(allocations, 1 / seconds), true);
+        executionSamples.register(rows(samples, 1), true);
+        contention.register(rows(blocked, 1e-9), true);
+    }
+
+    private List<MultiGauge.Row<?>> rows(Map<Tags, Long> values, double scale) {
+        return values.entrySet().stream()
+                .sorted(Map.Entry.<Tags, Long>comparingByValue().reversed())
+                .limit(top)
+                .<MultiGauge.Row<?>>map(entry -> MultiGauge.Row.of(entry.getKey(), entry.getValue() * scale))
+                .toList();
+    }
+
+    private static String allocationSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return topFrame(stackTrace);
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static String className(RecordedClass type) {
+        return type != null ? type.getName() : "unknown";
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}", file, e);
+        }
+    }
+}
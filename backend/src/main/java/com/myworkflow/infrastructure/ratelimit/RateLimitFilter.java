@@ -0,0 +1,195 @@
+package com.myworkflow.infrastructure.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myworkflow.application.dto.response.ApiResponse;
+import com.myworkflow.domain.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final char USER_SCOPE = 'u';
+    private static final char IP_SCOPE = 'i';
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TokenBucketRegistry registry;
+    private final List<CompiledRule> rules;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.registry = new TokenBucketRegistry(
+                properties.getMaxBuckets(),
+                properties.getIdleTimeout().toNanos()
+        );
+        this.rules = compile(properties.getRules());
+
+        Metrics.gauge("ratelimit.buckets", registry, TokenBucketRegistry::size);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:PT1M}")
+    public void sweepIdleBuckets() {
+        registry.sweep(System.nanoTime());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || "OPTIONS".equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        CompiledRule rule = match(request.getRequestURI());
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket.Probe tightest = null;
+
+        // Per-IP limit first so anonymous floods never touch user buckets
+        if (rule.ip() != null) {
+            TokenBucket.Probe probe = consume(rule, IP_SCOPE, clientIp(request), rule.ip(), now);
+            if (!probe.allowed()) {
+                rule.ipRejections().increment();
+                reject(response, probe);
+                return;
+            }
+            tightest = probe;
+        }
+
+        Long userId = currentUserId();
+        if (rule.user() != null && userId != null) {
+            TokenBucket.Probe probe = consume(rule, USER_SCOPE, userId.toString(), rule.user(), now);
+            if (!probe.allowed()) {
+                rule.userRejections().increment();
+                reject(response, probe);
+                return;
+            }
+            if (tightest == null || probe.remaining() < tightest.remaining()) {
+                tightest = probe;
+            }
+        }
+
+        if (tightest != null) {
+            writeLimitHeaders(response, tightest);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private TokenBucket.Probe consume(
+            CompiledRule rule,
+            char scope,
+            String subject,
+            RateLimitProperties.Limit limit,
+            long now
+    ) {
+        TokenBucketRegistry.BucketKey key = new TokenBucketRegistry.BucketKey(rule.index(), scope, subject);
+        return registry.bucket(key, limit.getCapacity(), limit.getPeriod().toNanos(), now).tryConsume(now);
+    }
+
+    private CompiledRule match(String path) {
+        for (CompiledRule rule : rules) {
+            if (pathMatcher.match(rule.pattern(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma > 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void writeLimitHeaders(HttpServletResponse response, TokenBucket.Probe probe) {
+        response.setHeader("X-RateLimit-Limit", String.valueOf(probe.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.remaining()));
+    }
+
+    private void reject(HttpServletResponse response, TokenBucket.Probe probe) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.retryAfterNanos() + 999_999_999L));
+
+        writeLimitHeaders(response, probe);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests, retry in " + retryAfterSeconds + " seconds"));
+    }
+
+    private static List<CompiledRule> compile(List<RateLimitProperties.Rule> configured) {
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (int i = 0; i < configured.size(); i++) {
+            RateLimitProperties.Rule rule = configured.get(i);
+            compiled.add(new CompiledRule(
+                    i,
+                    rule.getPattern(),
+                    rule.getUser(),
+                    rule.getIp(),
+                    rejectionCounter(rule.getPattern(), "user"),
+                    rejectionCounter(rule.getPattern(), "ip")
+            ));
+        }
+        return List.copyOf(compiled);
+    }
+
+    private static Counter rejectionCounter(String pattern, String scope) {
+        return Counter.builder("ratelimit.rejections")
+                .description("Requests rejected by the rate limiter")
+                .tag("rule", pattern)
+                .tag("scope", scope)
+                .register(Metrics.globalRegistry);
+    }
+
+    private record CompiledRule(
+            int index,
+            String pattern,
+            RateLimitProperties.Limit user,
+            RateLimitProperties.Limit ip,
+            Counter userRejections,
+            Counter ipRejections
+    ) {
+    }
+}
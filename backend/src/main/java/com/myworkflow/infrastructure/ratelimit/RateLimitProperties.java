@@ -0,0 +1,78 @@
+package com.myworkflow.infrastructure.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Validated at startup: a zero capacity or missing period would otherwise fail every matching request
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on live buckets. Reaching it evicts idle and full buckets; if none are,
+    // new subjects share an overflow bucket until the sweep frees room
+    private int maxBuckets = 100_000;
+
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // How often buckets idle for idleTimeout are dropped
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    // Only enable behind a proxy that overwrites X-Forwarded-For
+    private boolean trustForwardedFor = false;
+
+    // First matching pattern wins, so keep specific routes before catch-alls
+    private List<@Valid Rule> rules = defaultRules();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        @NotBlank
+        private String pattern;
+        @Valid
+        private Limit user;
+        @Valid
+        private Limit ip;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        @Positive
+        private long capacity;
+        @NotNull
+        @DurationMin(nanos = 1)
+        private Duration period;
+    }
+
+    private static List<Rule> defaultRules() {
+        List<Rule> rules = new ArrayList<>();
+        rules.add(new Rule("/api/auth/login", null, new Limit(10, Duration.ofMinutes(1))));
+        rules.add(new Rule("/api/auth/register", null, new Limit(5, Duration.ofMinutes(1))));
+        rules.add(new Rule("/api/dashboard/**",
+                new Limit(30, Duration.ofMinutes(1)),
+                new Limit(120, Duration.ofMinutes(1))));
+        rules.add(new Rule("/api/**",
+                new Limit(300, Duration.ofMinutes(1)),
+                new Limit(600, Duration.ofMinutes(1))));
+        return rules;
+    }
+}
@@ -0,0 +1,49 @@
+package com.myworkflow.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the whole
+ * state is the theoretical arrival time of the next request, updated with a CAS.
+ */
+final class TokenBucket {
+
+    private final long capacity;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long capacity, long periodNanos, long now) {
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    Probe tryConsume(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long backlog = next - now;
+
+            if (backlog > burstNanos) {
+                return new Probe(false, capacity, 0, backlog - burstNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return new Probe(true, capacity, (burstNanos - backlog) / emissionIntervalNanos, 0);
+            }
+        }
+    }
+
+    // A bucket that has been full for the whole idle window carries no state worth keeping
+    boolean isIdle(long now, long idleNanos) {
+        return theoreticalArrival.get() + idleNanos <= now;
+    }
+
+    boolean isFull(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+
+    record Probe(boolean allowed, long limit, long remaining, long retryAfterNanos) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.myworkflow.infrastructure.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Size-bounded bucket store. Lookups go straight to the striped {@link ConcurrentHashMap};
+ * a periodic sweep drops idle buckets, and reaching the bound also drops full ones, neither
+ * blocking request threads. A bucket that still holds debt is never dropped, so a flood of
+ * new subjects cannot reset anyone's limit: while the store stays saturated, new subjects
+ * share one overflow bucket per rule and scope.
+ */
+final class TokenBucketRegistry {
+
+    private final ConcurrentHashMap<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxBuckets;
+    private final long idleNanos;
+
+    TokenBucketRegistry(int maxBuckets, long idleNanos) {
+        this.maxBuckets = maxBuckets;
+        this.idleNanos = idleNanos;
+    }
+
+    TokenBucket bucket(BucketKey key, long capacity, long periodNanos, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        BucketKey target = key;
+        if (buckets.size() >= maxBuckets) {
+            evict(now);
+            if (buckets.size() >= maxBuckets) {
+                target = key.overflow();
+            }
+        }
+        return buckets.computeIfAbsent(target, k -> new TokenBucket(capacity, periodNanos, now));
+    }
+
+    // Buckets idle for the whole window, run on a schedule so they go before the bound is hit
+    void sweep(long now) {
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sweep(now);
+
+            // Buckets that are currently full, dropping them loses nothing
+            if (buckets.size() >= maxBuckets) {
+                buckets.values().removeIf(bucket -> bucket.isFull(now));
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    record BucketKey(int rule, char scope, String subject) {
+
+        // Shared by every subject of this rule and scope that finds the store saturated
+        BucketKey overflow() {
+            return new BucketKey(rule, scope, null);
+        }
+    }
+}
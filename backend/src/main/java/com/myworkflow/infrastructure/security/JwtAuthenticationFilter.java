@@ -1,6 +1,11 @@
 package com.myworkflow.infrastructure.security;
 
 import com.myworkflow.application.service.JwtService;
+import com.myworkflow.infrastructure.metrics.ServerTiming;
+import com.myworkflow.infrastructure.tracing.Span;
+import com.myworkflow.infrastructure.tracing.SpanKind;
+import com.myworkflow.infrastructure.tracing.Tracer;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +28,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final Tracer tracer;
 
     @Override
     protected void doFilterInternal(
@@ -40,21 +46,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        long authStart = ServerTiming.startAuth();
+        Span span = tracer.startSpan("JwtAuthenticationFilter", SpanKind.INTERNAL);
+        try {
+            jwt = authHeader.substring(7);
+            // Parsed once, the claims serve both the user lookup and the validity check
+            Claims claims = jwtService.extractAllClaims(jwt);
+            userEmail = claims.getSubject();
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (jwtService.isTokenValid(claims, userDetails)) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
             }
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.attribute("enduser.authenticated", SecurityContextHolder.getContext().getAuthentication() != null);
+            span.end();
+            ServerTiming.endAuth(authStart);
         }
 
         filterChain.doFilter(request, response);
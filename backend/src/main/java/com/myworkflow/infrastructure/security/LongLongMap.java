@@ -0,0 +1,173 @@
+package com.myworkflow.infrastructure.security;
+
+/**
+ * Open-addressing long to long map with linear probing over primitive arrays,
+ * so lookups neither box nor allocate. Key 0 marks an empty slot and cannot be
+ * stored. The map is bounded: once it holds {@code maxEntries}, a put evicts
+ * one entry chosen by a CLOCK sweep that passes over recently read entries.
+ * Not thread-safe.
+ */
+final class LongLongMap {
+
+    static final long MISSING = 0L;
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MIN_CAPACITY = 16;
+
+    private final int maxEntries;
+    private final int maxCapacity;
+
+    private long[] keys;
+    private long[] values;
+    // CLOCK reference bits, set on read and cleared by the eviction hand
+    private boolean[] referenced;
+    private int mask;
+    private int size;
+    private int hand;
+
+    LongLongMap(int initialCapacity, int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxCapacity = tableSizeFor((int) Math.ceil(this.maxEntries / LOAD_FACTOR));
+        allocate(Math.min(tableSizeFor((int) Math.ceil(initialCapacity / LOAD_FACTOR)), maxCapacity));
+    }
+
+    long get(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return MISSING;
+        }
+        referenced[slot] = true;
+        return values[slot];
+    }
+
+    void put(long key, long value) {
+        if (key == MISSING) {
+            throw new IllegalArgumentException("Key 0 is reserved for empty slots");
+        }
+
+        int slot = find(key);
+        if (slot >= 0) {
+            values[slot] = value;
+            return;
+        }
+
+        if (size >= maxEntries) {
+            evictOne();
+        } else if (size + 1 > keys.length * LOAD_FACTOR && keys.length < maxCapacity) {
+            resize(keys.length << 1);
+        }
+        insert(key, value);
+    }
+
+    boolean remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        allocate(MIN_CAPACITY);
+    }
+
+    private int find(long key) {
+        if (key == MISSING) {
+            return -1;
+        }
+        for (int slot = home(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return slot;
+            }
+            if (current == MISSING) {
+                return -1;
+            }
+        }
+    }
+
+    private int insert(long key, long value) {
+        int slot = home(key);
+        while (keys[slot] != MISSING) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        referenced[slot] = false;
+        size++;
+        return slot;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void removeAt(int slot) {
+        int gap = slot;
+        for (int i = (slot + 1) & mask; keys[i] != MISSING; i = (i + 1) & mask) {
+            // An entry may fill the gap if the gap lies on its probe path from home to i
+            if (((i - home(keys[i])) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                referenced[gap] = referenced[i];
+                gap = i;
+            }
+        }
+        keys[gap] = MISSING;
+        values[gap] = 0L;
+        referenced[gap] = false;
+        size--;
+    }
+
+    private void evictOne() {
+        // Terminates within two sweeps: the first clears every reference bit it passes
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) & mask;
+            if (keys[slot] == MISSING) {
+                continue;
+            }
+            if (referenced[slot]) {
+                referenced[slot] = false;
+                continue;
+            }
+            removeAt(slot);
+            return;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldReferenced = referenced;
+
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != MISSING) {
+                referenced[insert(oldKeys[i], oldValues[i])] = oldReferenced[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        referenced = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+        hand = 0;
+    }
+
+    // Fibonacci hashing spreads sequential ids across the table
+    private int home(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(MIN_CAPACITY, capacity) - 1) << 1;
+        return size > 0 ? size : 1 << 30;
+    }
+}
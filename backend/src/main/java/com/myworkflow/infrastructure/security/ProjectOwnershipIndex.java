@@ -0,0 +1,117 @@
+package com.myworkflow.infrastructure.security;
+
+import com.myworkflow.domain.repository.ProjectRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Node-local projectId to ownerId index for authorization checks. Entries are
+ * loaded from the database on first use and kept until evicted. A project never
+ * changes owner, so the only way an entry goes stale is deletion, which
+ * {@link #onProjectDeleted} handles for this node. On other nodes a deleted
+ * project can still resolve to its former owner, which is harmless because
+ * every query behind the check finds nothing for it.
+ */
+@Component
+public class ProjectOwnershipIndex {
+
+    private final ProjectRepository projectRepository;
+    private final LongLongMap owners;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ProjectOwnershipIndex(
+            ProjectRepository projectRepository,
+            @Value("${ownership.index.max-entries:100000}") int maxEntries
+    ) {
+        this.projectRepository = projectRepository;
+        this.owners = new LongLongMap(1024, maxEntries);
+
+        this.hits = Counter.builder("ownership.index.lookups").tag("result", "hit").register(Metrics.globalRegistry);
+        this.misses = Counter.builder("ownership.index.lookups").tag("result", "miss").register(Metrics.globalRegistry);
+        Metrics.gauge("ownership.index.size", this, ProjectOwnershipIndex::size);
+    }
+
+    // Owner of the project, empty if it does not exist
+    public OptionalLong findOwnerId(long projectId) {
+        long ownerId;
+        lock.readLock().lock();
+        try {
+            ownerId = owners.get(projectId);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (ownerId != LongLongMap.MISSING) {
+            hits.increment();
+            return OptionalLong.of(ownerId);
+        }
+
+        misses.increment();
+        return projectRepository.findOwnerIdById(projectId)
+                .map(loaded -> {
+                    put(projectId, loaded);
+                    return OptionalLong.of(loaded);
+                })
+                .orElseGet(OptionalLong::empty);
+    }
+
+    public void onProjectCreated(long projectId, long ownerId) {
+        afterCommit(() -> put(projectId, ownerId));
+    }
+
+    // Evicted right away and again after commit, in case a concurrent miss reloaded the row in between
+    public void onProjectDeleted(long projectId) {
+        remove(projectId);
+        afterCommit(() -> remove(projectId));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return owners.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(long projectId, long ownerId) {
+        lock.writeLock().lock();
+        try {
+            owners.put(projectId, ownerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(long projectId) {
+        lock.writeLock().lock();
+        try {
+            owners.remove(projectId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.myworkflow.infrastructure.security;
+
+import com.myworkflow.domain.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Node-local taskId to projectId index. The tasks table is partitioned on
+ * project_id, so a task is only cheap to reach once its project is known; this
+ * supplies it for endpoints addressed by task id alone. A task never moves
+ * between projects, so entries only go stale through deletion, after which the
+ * project id they point at finds nothing.
+ */
+@Component
+public class TaskProjectIndex {
+
+    private final TaskRepository taskRepository;
+    private final LongLongMap projects;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public TaskProjectIndex(
+            TaskRepository taskRepository,
+            @Value("${task.project-index.max-entries:500000}") int maxEntries
+    ) {
+        this.taskRepository = taskRepository;
+        this.projects = new LongLongMap(1024, maxEntries);
+
+        this.hits = Counter.builder("task.project.index.lookups").tag("result", "hit").register(Metrics.globalRegistry);
+        this.misses = Counter.builder("task.project.index.lookups").tag("result", "miss").register(Metrics.globalRegistry);
+        Metrics.gauge("task.project.index.size", this, TaskProjectIndex::size);
+    }
+
+    // Project of the task, empty if it does not exist
+    public OptionalLong findProjectId(long taskId) {
+        long projectId;
+        lock.readLock().lock();
+        try {
+            projectId = projects.get(taskId);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (projectId != LongLongMap.MISSING) {
+            hits.increment();
+            return OptionalLong.of(projectId);
+        }
+
+        // The only task lookup without the partition key, it probes every partition once
+        misses.increment();
+        return taskRepository.findProjectIdById(taskId)
+                .map(loaded -> {
+                    put(taskId, loaded);
+                    return OptionalLong.of(loaded);
+                })
+                .orElseGet(OptionalLong::empty);
+    }
+
+    // Safe before commit: a rolled back id is never handed out again
+    public void onTaskCreated(long taskId, long projectId) {
+        put(taskId, projectId);
+    }
+
+    public void onTaskDeleted(long taskId) {
+        lock.writeLock().lock();
+        try {
+            projects.remove(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return projects.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(long taskId, long projectId) {
+        lock.writeLock().lock();
+        try {
+            projects.put(taskId, projectId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.myworkflow.infrastructure.security;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder that times hashing and verification. BCrypt is deliberately
+ * slow, so its share of login and registration latency is worth watching when
+ * the work factor or the hardware changes.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, String algorithm) {
+        this.delegate = delegate;
+        this.encodeTimer = timer(algorithm, "encode");
+        this.matchesTimer = timer(algorithm, "matches");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return Boolean.TRUE.equals(matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(String algorithm, String operation) {
+        return Timer.builder("password.encoder")
+                .description("Password hashing and verification time")
+                .tag("algorithm", algorithm)
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,6 @@
+package com.myworkflow.infrastructure.storage;
+
+import java.time.Instant;
+
+public record BlobInfo(String key, long size, Instant lastModified) {
+}
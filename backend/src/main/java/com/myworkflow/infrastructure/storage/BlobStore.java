@@ -0,0 +1,34 @@
+package com.myworkflow.infrastructure.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage backend for uploaded files. Keys are relative, slash separated paths
+ * such as {@code blobs/ab/cd/<sha256>.png}; content under a key never changes.
+ */
+public interface BlobStore {
+
+    // The store may move or consume source, callers must not reuse it afterwards
+    void put(String key, Path source, String contentType) throws IOException;
+
+    Optional<BlobInfo> stat(String key) throws IOException;
+
+    // Throws NoSuchFileException when the key does not exist
+    InputStream open(String key) throws IOException;
+
+    // A file on this node holding the blob, empty when the backend has none
+    Optional<Path> localFile(String key) throws IOException;
+
+    // A URL clients can fetch directly so bytes stay off the app nodes
+    Optional<URI> downloadUrl(String key);
+
+    void delete(String key) throws IOException;
+
+    // Streams entries under prefix without materialising the full listing
+    void list(String prefix, Consumer<BlobInfo> visitor) throws IOException;
+}
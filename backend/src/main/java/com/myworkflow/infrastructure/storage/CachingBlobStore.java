@@ -0,0 +1,175 @@
+package com.myworkflow.infrastructure.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Read-through local cache in front of a remote store. Blobs are immutable, so
+ * a cached copy never needs revalidation; the cache is bounded in bytes and
+ * evicts least recently used files.
+ */
+@Slf4j
+public class CachingBlobStore implements BlobStore {
+
+    private final BlobStore delegate;
+    private final LocalFileSystemBlobStore cache;
+    private final long maxBytes;
+
+    // Access-ordered index of cached keys to sizes, guarded by lock
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long cachedBytes;
+
+    public CachingBlobStore(BlobStore delegate, Path cacheDir, long maxBytes) throws IOException {
+        this.delegate = delegate;
+        this.cache = new LocalFileSystemBlobStore(cacheDir);
+        this.maxBytes = maxBytes;
+
+        // Re-index whatever survived a restart
+        Files.createDirectories(cache.getRoot());
+        cache.list("", info -> record(info.key(), info.size()));
+        evictIfNeeded();
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        // Keep a copy of what was just written, it is about to be read for variants
+        Path staged = Files.createTempFile(cache.getRoot(), ".cache-", ".part");
+        try {
+            Files.copy(source, staged, StandardCopyOption.REPLACE_EXISTING);
+            delegate.put(key, source, contentType);
+            admit(key, staged);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) throws IOException {
+        Optional<BlobInfo> cached = cache.stat(key);
+        return cached.isPresent() ? cached : delegate.stat(key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        Optional<Path> file = localFile(key);
+        return file.isPresent() ? Files.newInputStream(file.get()) : delegate.open(key);
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) throws IOException {
+        Optional<Path> cached = cache.localFile(key);
+        if (cached.isPresent()) {
+            touch(key);
+            return cached;
+        }
+
+        if (delegate.stat(key).isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path staged = Files.createTempFile(cache.getRoot(), ".cache-", ".part");
+        try {
+            try (InputStream in = delegate.open(key)) {
+                Files.copy(in, staged, StandardCopyOption.REPLACE_EXISTING);
+            }
+            admit(key, staged);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+        return cache.localFile(key);
+    }
+
+    @Override
+    public Optional<URI> downloadUrl(String key) {
+        return delegate.downloadUrl(key);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        delegate.delete(key);
+        forget(key);
+    }
+
+    @Override
+    public void list(String prefix, Consumer<BlobInfo> visitor) throws IOException {
+        delegate.list(prefix, visitor);
+    }
+
+    private void admit(String key, Path staged) throws IOException {
+        long size = Files.size(staged);
+        cache.put(key, staged, null);
+        record(key, size);
+        evictIfNeeded();
+    }
+
+    private void record(String key, long size) {
+        lock.lock();
+        try {
+            Long previous = entries.put(key, size);
+            cachedBytes += size - (previous != null ? previous : 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void touch(String key) {
+        lock.lock();
+        try {
+            entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void forget(String key) throws IOException {
+        lock.lock();
+        try {
+            Long size = entries.remove(key);
+            if (size != null) {
+                cachedBytes -= size;
+            }
+        } finally {
+            lock.unlock();
+        }
+        cache.delete(key);
+    }
+
+    private void evictIfNeeded() {
+        Map<String, Long> victims = new LinkedHashMap<>();
+
+        lock.lock();
+        try {
+            Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+            while (cachedBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                victims.put(eldest.getKey(), eldest.getValue());
+                cachedBytes -= eldest.getValue();
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // File deletes happen outside the lock
+        for (String key : victims.keySet()) {
+            try {
+                cache.delete(key);
+            } catch (IOException e) {
+                log.warn("Could not evict cached blob {}: {}", key, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.myworkflow.infrastructure.storage;
+
+import com.myworkflow.domain.model.ImageBlob;
+import com.myworkflow.domain.repository.ImageBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Renders fixed-size square variants of a profile image once its upload has
+ * committed. Runs on the bounded {@code imageVariantExecutor} so uploads return
+ * immediately; until it finishes clients fall back to the original. Jobs the
+ * full queue turned away, or that failed, are re-queued by a periodic sweep
+ * until the blob has used up its attempts.
+ */
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+
+    private final ProfileImageStorage profileImageStorage;
+    private final ImageBlobRepository imageBlobRepository;
+    private final ThreadPoolTaskExecutor imageVariantExecutor;
+    private final int[] sizes;
+    private final long maxPixels;
+    private final float jpegQuality;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+
+    public ImageVariantGenerator(
+            ProfileImageStorage profileImageStorage,
+            ImageBlobRepository imageBlobRepository,
+            @Qualifier("imageVariantExecutor") ThreadPoolTaskExecutor imageVariantExecutor,
+            @Value("${image.variants.sizes:256,64,32}") int[] sizes,
+            @Value("${image.variants.max-pixels:40000000}") long maxPixels,
+            @Value("${image.variants.jpeg-quality:0.85}") float jpegQuality,
+            @Value("${image.variants.max-attempts:3}") int maxAttempts,
+            @Value("${image.variants.retry-delay:PT5M}") Duration retryDelay
+    ) {
+        this.profileImageStorage = profileImageStorage;
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageVariantExecutor = imageVariantExecutor;
+        // Largest first so every smaller variant is derived from the previous one
+        this.sizes = Arrays.stream(sizes).boxed()
+                .sorted((a, b) -> b - a)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+    }
+
+    public int[] getSizes() {
+        return sizes.clone();
+    }
+
+    @Async("imageVariantExecutor")
+    @TransactionalEventListener
+    public void onProfileImageUpdated(ProfileImageUpdatedEvent event) {
+        generate(event);
+    }
+
+    // Only fills the queue's free slots, so a backlog drains over several runs
+    // instead of being rejected again
+    @Scheduled(fixedDelayString = "${image.variants.retry-interval:PT5M}")
+    public void requeuePending() {
+        int capacity = imageVariantExecutor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+
+        List<ImageBlob> pending = imageBlobRepository.findPendingVariants(
+                maxAttempts, LocalDateTime.now().minus(retryDelay), PageRequest.of(0, capacity));
+        for (ImageBlob blob : pending) {
+            ImageType type = ImageType.fromExtension(blob.getExtension()).orElse(null);
+            if (type == null) {
+                continue;
+            }
+            ProfileImageUpdatedEvent event = new ProfileImageUpdatedEvent(blob.getHash(), type);
+            imageVariantExecutor.execute(() -> generate(event));
+        }
+        if (!pending.isEmpty()) {
+            log.info("Re-queued variant generation for {} pending images", pending.size());
+        }
+    }
+
+    private void generate(ProfileImageUpdatedEvent event) {
+        ImageBlob blob = imageBlobRepository.findById(event.hash()).orElse(null);
+        if (blob == null || blob.getVariantExtension() != null) {
+            return;
+        }
+        // Counted before decoding, so an image that brings the worker down still runs out of attempts
+        imageBlobRepository.recordVariantAttempt(event.hash());
+
+        long startTime = System.currentTimeMillis();
+        try {
+            BufferedImage source;
+            try (InputStream in = profileImageStorage.open(event.hash(), event.type())) {
+                source = decode(in);
+            }
+            if (source == null) {
+                log.warn("No decoder for image {} ({})", event.hash(), event.type());
+                return;
+            }
+
+            // Transparent sources stay PNG, everything else becomes a much smaller JPEG
+            boolean alpha = source.getColorModel().hasAlpha();
+            String extension = alpha ? "png" : "jpg";
+
+            BufferedImage current = cropToSquare(source);
+            for (int size : sizes) {
+                current = resize(current, size, alpha);
+                Path rendered = profileImageStorage.newTempFile();
+                write(current, extension, rendered);
+                profileImageStorage.storeVariant(event.hash(), size, extension, rendered);
+            }
+
+            imageBlobRepository.markVariantsReady(event.hash(), extension);
+            log.debug("Generated {} variants for image {} in {} ms",
+                    sizes.length, event.hash(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Error generating variants for image {}: {}", event.hash(), e.getMessage(), e);
+        }
+    }
+
+    private BufferedImage decode(InputStream in) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+
+                // Reject decompression bombs from the header before allocating pixels
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IOException("Image too large to process: " + pixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage cropToSquare(BufferedImage image) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        int x = (image.getWidth() - side) / 2;
+        int y = (image.getHeight() - side) / 2;
+        return image.getSubimage(x, y, side, side);
+    }
+
+    // Halve with bilinear filtering until within 2x of the target, then one final step
+    private BufferedImage resize(BufferedImage image, int size, boolean alpha) {
+        BufferedImage current = image;
+        int side = current.getWidth();
+
+        while (side / 2 >= size) {
+            side /= 2;
+            current = draw(current, side, alpha);
+        }
+        if (side != size || current == image) {
+            current = draw(current, size, alpha);
+        }
+        return current;
+    }
+
+    private BufferedImage draw(BufferedImage image, int size, boolean alpha) {
+        BufferedImage target = new BufferedImage(size, size,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, size, size, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void write(BufferedImage image, String extension, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersBySuffix(extension).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpg".equals(extension)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.myworkflow.infrastructure.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Blobs as plain files under a root directory, key segments map to directories.
+ * Writes land in a sibling temp file first and are renamed into place.
+ */
+public class LocalFileSystemBlobStore implements BlobStore {
+
+    private final Path root;
+
+    public LocalFileSystemBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Source on another file system: copy next to the target, then rename
+            Path staged = Files.createTempFile(target.getParent(), ".put-", ".part");
+            try {
+                Files.copy(source, staged, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(staged);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Lost a race with an identical write, the content is already in place
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) throws IOException {
+        Path file = resolve(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            return Optional.of(new BlobInfo(key, attributes.size(), attributes.lastModifiedTime().toInstant()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) throws IOException {
+        Path file = resolve(key);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    @Override
+    public Optional<URI> downloadUrl(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public void list(String prefix, Consumer<BlobInfo> visitor) throws IOException {
+        // "variants/ab/cd/<hash>-" lists one directory by name prefix, "blobs/" walks a subtree
+        int slash = prefix.lastIndexOf('/');
+        String directory = slash >= 0 ? prefix.substring(0, slash) : "";
+        String namePrefix = prefix.substring(slash + 1);
+
+        Path start = directory.isEmpty() ? root : resolve(directory);
+        if (Files.isDirectory(start)) {
+            visit(start, namePrefix, visitor);
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    private void visit(Path directory, String namePrefix, Consumer<BlobInfo> visitor) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (!name.startsWith(namePrefix) || name.endsWith(".part")) {
+                    continue;
+                }
+
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+
+                if (attributes.isDirectory()) {
+                    visit(entry, "", visitor);
+                } else if (attributes.isRegularFile()) {
+                    visitor.accept(new BlobInfo(
+                            keyOf(entry),
+                            attributes.size(),
+                            attributes.lastModifiedTime().toInstant()
+                    ));
+                }
+            }
+        }
+    }
+
+    private String keyOf(Path file) {
+        return root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    // Rejects keys that would escape the root
+    private Path resolve(String key) throws IOException {
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            throw new NoSuchFileException(key);
+        }
+        return file;
+    }
+}
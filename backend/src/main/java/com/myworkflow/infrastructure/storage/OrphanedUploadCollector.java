@@ -0,0 +1,318 @@
+package com.myworkflow.infrastructure.storage;
+
+import com.myworkflow.domain.model.ImageBlob;
+import com.myworkflow.domain.repository.ImageBlobRepository;
+import com.myworkflow.domain.repository.UserRepository;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Incremental mark-and-sweep for uploads nothing points at any more. Each run
+ * walks a slice of the 256 hash shards, checks entries older than the grace
+ * period against the database in batches, and only deletes an entry once it has
+ * stayed unreferenced for a full grace period across two runs, so in-flight
+ * uploads that have not committed yet are never collected. Suspects not seen
+ * again for a full cycle over the shards were removed by something else and are
+ * forgotten. In dry-run mode the keys that would be deleted are logged.
+ */
+@Slf4j
+@Component
+public class OrphanedUploadCollector {
+
+    private static final String LEGACY_DIR = ProfileImageStorage.LEGACY_DIR + "/";
+    // Legacy rows stored the relative file path, e.g. uploads/profile-images/<uuid>_<name>
+    private static final String LEGACY_PATH_PREFIX = "uploads/";
+    private static final int SHARD_COUNT = 256;
+    private static final int REPORT_SAMPLE_SIZE = 100;
+    private static final Pattern HASH = Pattern.compile("([0-9a-f]{64})(?:-\\d+)?\\.([a-z]+)$");
+
+    private final BlobStore blobStore;
+    private final UserRepository userRepository;
+    private final ImageBlobRepository imageBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final boolean dryRun;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final int shardsPerRun;
+    private final int maxDeletesPerRun;
+    private final long deletePauseMillis;
+    private final int maxSuspects;
+
+    // Keys seen unreferenced, with the time they were first and last seen
+    private final Map<String, Suspect> suspects = new ConcurrentHashMap<>();
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private volatile Instant cycleStartedAt = Instant.now();
+
+    public OrphanedUploadCollector(
+            BlobStore blobStore,
+            UserRepository userRepository,
+            ImageBlobRepository imageBlobRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${file.gc.enabled:true}") boolean enabled,
+            @Value("${file.gc.dry-run:false}") boolean dryRun,
+            @Value("${file.gc.grace-period:PT1H}") Duration gracePeriod,
+            @Value("${file.gc.batch-size:500}") int batchSize,
+            @Value("${file.gc.shards-per-run:16}") int shardsPerRun,
+            @Value("${file.gc.max-deletes-per-run:1000}") int maxDeletesPerRun,
+            @Value("${file.gc.max-deletes-per-second:50}") int maxDeletesPerSecond,
+            @Value("${file.gc.max-suspects:100000}") int maxSuspects
+    ) {
+        this.blobStore = blobStore;
+        this.userRepository = userRepository;
+        this.imageBlobRepository = imageBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.dryRun = dryRun;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+        this.shardsPerRun = Math.max(1, Math.min(SHARD_COUNT, shardsPerRun));
+        this.maxDeletesPerRun = maxDeletesPerRun;
+        this.deletePauseMillis = maxDeletesPerSecond > 0 ? 1000L / maxDeletesPerSecond : 0L;
+        this.maxSuspects = maxSuspects;
+    }
+
+    @Scheduled(fixedDelayString = "${file.gc.interval:PT10M}", initialDelayString = "${file.gc.initial-delay:PT5M}")
+    public void collect() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    private void run() {
+        Instant now = Instant.now();
+        Report report = new Report(dryRun, now);
+        int first = nextShard.getAndUpdate(shard -> (shard + shardsPerRun) % SHARD_COUNT);
+        boolean cycleEnds = first + shardsPerRun >= SHARD_COUNT;
+
+        try {
+            for (int i = 0; i < shardsPerRun; i++) {
+                String shard = String.format("%02x/", (first + i) % SHARD_COUNT);
+                sweep(ProfileImageStorage.BLOB_DIR + "/" + shard, Kind.BLOB, now, report);
+                sweep(ProfileImageStorage.VARIANT_DIR + "/" + shard, Kind.VARIANT, now, report);
+            }
+
+            // Legacy flat directory once per full cycle over the shards
+            if (cycleEnds) {
+                sweep(LEGACY_DIR, Kind.LEGACY, now, report);
+                forgetUnseenSuspects(now);
+            }
+        } catch (IOException e) {
+            log.error("Upload garbage collection failed: {}", e.getMessage(), e);
+        }
+
+        report.setDurationMillis(Duration.between(now, Instant.now()).toMillis());
+        log.info("Upload GC{}: scanned {}, unreferenced {}, {} {} ({} bytes) in {} ms{}",
+                dryRun ? " (dry run)" : "",
+                report.getScanned(), report.getUnreferenced(),
+                dryRun ? "would delete" : "deleted", report.getDeleted(),
+                report.getBytesReclaimed(), report.getDurationMillis(),
+                dryRun && !report.getSample().isEmpty() ? ", e.g. " + report.getSample() : "");
+        if (report.getUntracked() > 0) {
+            log.warn("Upload GC is tracking {} suspects (file.gc.max-suspects), {} new orphans were not marked",
+                    suspects.size(), report.getUntracked());
+        }
+    }
+
+    // Every key still on disk was listed during the cycle that just ended, so a suspect
+    // last seen before it started was deleted by something else
+    private void forgetUnseenSuspects(Instant now) {
+        Instant cutoff = cycleStartedAt;
+        suspects.values().removeIf(suspect -> suspect.lastSeen().isBefore(cutoff));
+        cycleStartedAt = now;
+    }
+
+    private void sweep(String prefix, Kind kind, Instant now, Report report) throws IOException {
+        Instant cutoff = now.minus(gracePeriod);
+        List<BlobInfo> batch = new ArrayList<>(batchSize);
+
+        blobStore.list(prefix, info -> {
+            report.scanned++;
+            if (info.lastModified().isAfter(cutoff)) {
+                return;
+            }
+            batch.add(info);
+            if (batch.size() >= batchSize) {
+                process(batch, kind, now, report);
+                batch.clear();
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            process(batch, kind, now, report);
+        }
+    }
+
+    private void process(List<BlobInfo> batch, Kind kind, Instant now, Report report) {
+        Set<String> referenced = referencedKeys(batch, kind);
+
+        for (BlobInfo info : batch) {
+            if (referenced.contains(info.key())) {
+                suspects.remove(info.key());
+                continue;
+            }
+
+            report.unreferenced++;
+            Suspect suspect = suspects.get(info.key());
+            if (suspect == null) {
+                if (suspects.size() < maxSuspects) {
+                    suspects.put(info.key(), new Suspect(now, now));
+                } else {
+                    report.untracked++;
+                }
+                continue;
+            }
+            suspects.put(info.key(), new Suspect(suspect.firstSeen(), now));
+            if (suspect.firstSeen().plus(gracePeriod).isAfter(now) || report.deleted >= maxDeletesPerRun) {
+                continue;
+            }
+
+            if (!report.dryRun) {
+                boolean deleted = delete(info, kind);
+                suspects.remove(info.key());
+                throttle();
+                if (!deleted) {
+                    continue;
+                }
+            }
+
+            if (report.sample.size() < REPORT_SAMPLE_SIZE) {
+                report.sample.add(info.key());
+            }
+            report.deleted++;
+            report.bytesReclaimed += info.size();
+        }
+    }
+
+    // Batched set lookups: one query per batch instead of one per file
+    private Set<String> referencedKeys(List<BlobInfo> batch, Kind kind) {
+        Set<String> referenced = new HashSet<>();
+
+        switch (kind) {
+            case BLOB -> {
+                List<String> urls = batch.stream().map(info -> "/uploads/" + info.key()).toList();
+                userRepository.findReferencedProfileImageUrls(urls)
+                        .forEach(url -> referenced.add(url.substring("/uploads/".length())));
+            }
+            case VARIANT -> {
+                // A variant lives as long as its blob row does
+                Map<String, List<String>> keysByHash = new HashMap<>();
+                for (BlobInfo info : batch) {
+                    String hash = hashOf(info.key());
+                    if (hash != null) {
+                        keysByHash.computeIfAbsent(hash, h -> new ArrayList<>()).add(info.key());
+                    }
+                }
+                for (ImageBlob blob : imageBlobRepository.findAllById(keysByHash.keySet())) {
+                    referenced.addAll(keysByHash.get(blob.getHash()));
+                }
+            }
+            case LEGACY -> {
+                List<String> paths = batch.stream().map(info -> LEGACY_PATH_PREFIX + info.key()).toList();
+                userRepository.findReferencedProfileImageUrls(paths)
+                        .forEach(path -> referenced.add(path.substring(LEGACY_PATH_PREFIX.length())));
+            }
+        }
+        return referenced;
+    }
+
+    private boolean delete(BlobInfo info, Kind kind) {
+        try {
+            if (kind == Kind.BLOB) {
+                return deleteBlob(info);
+            }
+            blobStore.delete(info.key());
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not delete orphaned upload {}: {}", info.key(), e.getMessage());
+            return false;
+        }
+    }
+
+    // Row and file go in one transaction that holds the blob row lock, so an upload of the
+    // same bytes either keeps the row and the file, or waits and writes the file again.
+    // Dropping the row also makes the blob's variants collectable
+    private boolean deleteBlob(BlobInfo info) {
+        Matcher matcher = HASH.matcher(info.key());
+        Optional<ImageType> type = matcher.find() ? ImageType.fromExtension(matcher.group(2)) : Optional.empty();
+        if (type.isEmpty()) {
+            return false;
+        }
+        String hash = matcher.group(1);
+
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            imageBlobRepository.claim(hash, type.get().getContentType(), type.get().getExtension(), info.size());
+            if (imageBlobRepository.deleteIfUnreferenced(hash) == 0) {
+                return false;
+            }
+            try {
+                blobStore.delete(info.key());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }));
+    }
+
+    private void throttle() {
+        if (deletePauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(deletePauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String hashOf(String key) {
+        Matcher matcher = HASH.matcher(key);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private enum Kind {
+        BLOB,
+        VARIANT,
+        LEGACY
+    }
+
+    private record Suspect(Instant firstSeen, Instant lastSeen) {
+    }
+
+    @Data
+    private static class Report {
+        private final boolean dryRun;
+        private final Instant startedAt;
+        private long scanned;
+        private long unreferenced;
+        // Orphans not marked because max-suspects was reached
+        private long untracked;
+        private long deleted;
+        private long bytesReclaimed;
+        private long durationMillis;
+        // First keys deleted, or that would be deleted in a dry run
+        private final List<String> sample = new ArrayList<>();
+    }
+}
@@ -0,0 +1,182 @@
+package com.myworkflow.infrastructure.storage;
+
+import com.myworkflow.infrastructure.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for profile images on top of a {@link BlobStore}. Blobs
+ * live under {@code blobs/<h0h1>/<h2h3>/<sha256>.<ext>} so identical uploads share
+ * one object and no directory grows past a few hundred entries. Uploads are
+ * staged and hashed on local disk before they reach the backend.
+ */
+@Slf4j
+@Component
+public class ProfileImageStorage {
+
+    public static final String BLOB_DIR = "blobs";
+    public static final String VARIANT_DIR = "variants";
+    // Flat directory of the uploads from before content addressing, <uuid>_<name>
+    public static final String LEGACY_DIR = "profile-images";
+    private static final String TEMP_DIR = "tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern BLOB_URL = Pattern.compile(
+            "^/uploads/" + BLOB_DIR + "/[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})\\.([a-z]+)$");
+
+    private final BlobStore blobStore;
+    private final Path tempDir;
+    private final long maxSize;
+
+    public ProfileImageStorage(
+            BlobStore blobStore,
+            @Value("${file.upload-dir:uploads}") String uploadDir,
+            @Value("${file.profile-image.max-size:5242880}") long maxSize
+    ) {
+        this.blobStore = blobStore;
+        this.tempDir = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(TEMP_DIR);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Stages and hashes the upload, calls {@code reference} to take the database
+     * reference on the blob, then writes the blob unless it already exists. The
+     * reference comes first because its row lock, held until the caller commits,
+     * is what keeps {@link OrphanedUploadCollector} from deleting the file between
+     * the existence check and the commit.
+     */
+    public StoredImage store(MultipartFile file, Consumer<StoredImage> reference) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new ValidationException("Image file is required");
+        }
+        if (file.getSize() > maxSize) {
+            throw tooLarge();
+        }
+
+        Path temp = newTempFile();
+
+        try {
+            MessageDigest digest = sha256();
+            ImageType type;
+            long size;
+
+            // Hash while streaming so the upload is read exactly once
+            try (InputStream in = file.getInputStream();
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                byte[] header = in.readNBytes(ImageType.SIGNATURE_LENGTH);
+                type = ImageType.detect(header)
+                        .orElseThrow(() -> new ValidationException("Unsupported image type, use PNG, JPEG, GIF or WEBP"));
+
+                digest.update(header);
+                writeFully(out, header, header.length);
+                size = header.length;
+
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw tooLarge();
+                    }
+                    digest.update(buffer, 0, read);
+                    writeFully(out, buffer, read);
+                }
+                out.force(true);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String key = blobKey(hash, type);
+            StoredImage image = new StoredImage(hash, type, size, "/uploads/" + key);
+            reference.accept(image);
+
+            // Same hash means same bytes, the existing blob is reused as is
+            if (blobStore.stat(key).isEmpty()) {
+                blobStore.put(key, temp, type.getContentType());
+            }
+
+            return image;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public InputStream open(String hash, ImageType type) throws IOException {
+        return blobStore.open(blobKey(hash, type));
+    }
+
+    // Commits a rendered variant written to a file obtained from newTempFile()
+    public void storeVariant(String hash, int size, String extension, Path rendered) throws IOException {
+        try {
+            blobStore.put(variantKey(hash, size, extension), rendered,
+                    ImageType.fromExtension(extension).map(ImageType::getContentType).orElse(null));
+        } finally {
+            Files.deleteIfExists(rendered);
+        }
+    }
+
+    public Path newTempFile() throws IOException {
+        Files.createDirectories(tempDir);
+        return Files.createTempFile(tempDir, "upload-", ".part");
+    }
+
+    public String blobKey(String hash, ImageType type) {
+        return BLOB_DIR + "/" + shard(hash) + hash + "." + type.getExtension();
+    }
+
+    public String variantKey(String hash, int size, String extension) {
+        return VARIANT_DIR + "/" + shard(hash) + hash + "-" + size + "." + extension;
+    }
+
+    public String variantUrl(String hash, int size, String extension) {
+        return "/uploads/" + variantKey(hash, size, extension);
+    }
+
+    // Empty for legacy flat-directory paths stored before blobs existed
+    public Optional<String> hashFromUrl(String url) {
+        if (url == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = BLOB_URL.matcher(url);
+        return matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    private static String shard(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/";
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private ValidationException tooLarge() {
+        return new ValidationException("File too large! Maximum size is " + (maxSize / (1024 * 1024)) + "MB");
+    }
+}
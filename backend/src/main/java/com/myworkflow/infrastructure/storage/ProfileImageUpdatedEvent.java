@@ -0,0 +1,4 @@
+package com.myworkflow.infrastructure.storage;
+
+public record ProfileImageUpdatedEvent(String hash, ImageType type) {
+}
@@ -0,0 +1,158 @@
+package com.myworkflow.infrastructure.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * S3-compatible backend (AWS, MinIO, LocalStack). Uploads are capped far below
+ * the single PUT limit, so every object goes up in one request; reads are meant
+ * to be served through presigned URLs or a {@link CachingBlobStore} in front of
+ * this store.
+ */
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    // Keys are content-addressed, so objects can be cached forever downstream
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final int NOT_FOUND = 404;
+
+    private final S3Client client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final Duration presignTtl;
+    private final boolean redirectDownloads;
+
+    public S3BlobStore(
+            S3Client client,
+            S3Presigner presigner,
+            String bucket,
+            Duration presignTtl,
+            boolean redirectDownloads
+    ) {
+        this.client = client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.presignTtl = presignTtl;
+        this.redirectDownloads = redirectDownloads;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        try {
+            client.putObject(PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .contentType(contentType)
+                            .cacheControl(IMMUTABLE)
+                            .build(),
+                    RequestBody.fromFile(source));
+        } catch (S3Exception e) {
+            throw new IOException("Could not store " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) throws IOException {
+        try {
+            HeadObjectResponse head = client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build());
+            return Optional.of(new BlobInfo(key, head.contentLength(), head.lastModified()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == NOT_FOUND) {
+                return Optional.empty();
+            }
+            throw new IOException("Could not stat " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return client.getObject(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build());
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        } catch (S3Exception e) {
+            throw new IOException("Could not read " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<URI> downloadUrl(String key) {
+        if (!redirectDownloads) {
+            return Optional.empty();
+        }
+
+        GetObjectPresignRequest request = GetObjectPresignRequest.builder()
+                .signatureDuration(presignTtl)
+                .getObjectRequest(GetObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .build())
+                .build();
+        try {
+            return Optional.of(presigner.presignGetObject(request).url().toURI());
+        } catch (Exception e) {
+            log.warn("Could not presign {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            client.deleteObject(DeleteObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build());
+        } catch (S3Exception e) {
+            throw new IOException("Could not delete " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void list(String prefix, Consumer<BlobInfo> visitor) throws IOException {
+        try {
+            // The paginator fetches one page of keys at a time
+            client.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                            .bucket(bucket)
+                            .prefix(prefix)
+                            .build())
+                    .contents()
+                    .forEach(object -> visitor.accept(new BlobInfo(object.key(), object.size(), object.lastModified())));
+        } catch (S3Exception e) {
+            throw new IOException("Could not list " + prefix + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.myworkflow.infrastructure.storage;
+
+public record StoredImage(String hash, ImageType type, long size, String url) {
+}
@@ -0,0 +1,279 @@
+package com.myworkflow.infrastructure.storage;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves {@code /uploads/**} with strong content ETags, conditional 304s and
+ * single byte ranges. Content-addressed blobs and variants never change under a
+ * given URL, so they are marked immutable; legacy files must revalidate. When
+ * the {@link BlobStore} offers direct download URLs, clients are redirected there.
+ * Only those two layouts are public: temp files, the blob cache and anything else
+ * stored under the upload directory answer 404.
+ */
+@Component
+public class UploadResourceHandler implements HttpRequestHandler {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+    // Shorter than the presign TTL so browsers never follow an expired signature
+    private static final String REDIRECT = "private, max-age=300";
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile(
+            "^(?:" + ProfileImageStorage.BLOB_DIR + "|" + ProfileImageStorage.VARIANT_DIR + ")"
+                    + "/[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64}(?:-\\d+)?)\\.[a-z]+$");
+    // Legacy names keep the client's original file name, so only the directory is checked
+    private static final Pattern LEGACY = Pattern.compile("^" + ProfileImageStorage.LEGACY_DIR + "/[^/]+$");
+    private static final Pattern RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    // Tomcat request attributes for its sendfile (zero-copy) support
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final BlobStore blobStore;
+    private final long sendfileThreshold;
+    private final int digestCacheSize;
+    private final ConcurrentHashMap<Path, CachedDigest> digests = new ConcurrentHashMap<>();
+
+    public UploadResourceHandler(
+            BlobStore blobStore,
+            @Value("${file.serve.sendfile-threshold:49152}") long sendfileThreshold,
+            @Value("${file.serve.digest-cache-size:10000}") int digestCacheSize
+    ) {
+        this.blobStore = blobStore;
+        this.sendfileThreshold = sendfileThreshold;
+        this.digestCacheSize = digestCacheSize;
+    }
+
+    @Override
+    public void handleRequest(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        String key = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        if (key == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Matcher contentAddressed = CONTENT_ADDRESSED.matcher(key);
+        boolean immutable = contentAddressed.matches();
+        if (!immutable && (!LEGACY.matcher(key).matches() || key.contains(".."))) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // Remote backends can hand out a signed URL so the bytes never pass through this node
+        if (immutable) {
+            Optional<URI> downloadUrl = blobStore.downloadUrl(key);
+            if (downloadUrl.isPresent()) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, REDIRECT);
+                response.setHeader(HttpHeaders.LOCATION, downloadUrl.get().toString());
+                response.setStatus(HttpServletResponse.SC_FOUND);
+                return;
+            }
+        }
+
+        Path file;
+        BasicFileAttributes attributes;
+        try {
+            Optional<Path> localFile = blobStore.localFile(key);
+            if (localFile.isEmpty()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            file = localFile.get();
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = "\"" + (immutable ? contentAddressed.group(1) : digest(file, attributes)) + "\"";
+        long length = attributes.size();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE : REVALIDATE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, attributes.lastModifiedTime().toMillis());
+
+        if (matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString());
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+
+        // A stale If-Range means the client's partial copy is useless, send everything
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        transfer(request, response, file, start, count);
+    }
+
+    private void transfer(HttpServletRequest request, HttpServletResponse response, Path file, long start, long count)
+            throws IOException {
+
+        // Large bodies go through Tomcat sendfile, the kernel copies straight from page cache to socket
+        if (count >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    // Returns {} for "ignore the header", {start, end} for a satisfiable range, null otherwise
+    private long[] parseRange(String header, long length) {
+        Matcher matcher = RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            // Multi-range and unknown units are allowed to fall back to a full response
+            return new long[0];
+        }
+
+        String first = matcher.group(1);
+        String last = matcher.group(2);
+        if (first.isEmpty() && last.isEmpty()) {
+            return new long[0];
+        }
+
+        try {
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix == 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            }
+            return start > end || start >= length ? null : new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private boolean matchesIfNoneMatch(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Legacy files have no hash in their name, digest once per (size, mtime)
+    private String digest(Path file, BasicFileAttributes attributes) throws IOException {
+        long modified = attributes.lastModifiedTime().toMillis();
+        CachedDigest cached = digests.get(file);
+        if (cached != null && cached.size() == attributes.size() && cached.modified() == modified) {
+            return cached.hash();
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        if (digests.size() >= digestCacheSize) {
+            digests.clear();
+        }
+        digests.put(file, new CachedDigest(attributes.size(), modified, hash));
+        return hash;
+    }
+
+    private record CachedDigest(long size, long modified, String hash) {
+    }
+}
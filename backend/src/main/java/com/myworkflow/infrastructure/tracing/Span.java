@@ -0,0 +1,131 @@
+package com.myworkflow.infrastructure.tracing;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed operation of a sampled trace. Created and ended on the same thread
+ * through {@link Tracer}; ending it hands it to the exporter. Requests that were
+ * not sampled get {@link #NOOP}, which ignores everything.
+ */
+public final class Span {
+
+    static final Span NOOP = new Span(null, null, null, null, null, null, SpanKind.INTERNAL, 0);
+
+    // Timestamps are taken with nanoTime and shifted onto the wall clock once
+    private static final long EPOCH_OFFSET_NANOS = epochOffsetNanos();
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final Span parent;
+    private final SpanKind kind;
+    private final long startNanos;
+    private String name;
+    private long endNanos;
+    private Map<String, Object> attributes;
+    private String error;
+
+    Span(Tracer tracer, String traceId, String spanId, String parentSpanId, Span parent,
+         String name, SpanKind kind, long startNanos) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.parent = parent;
+        this.name = name;
+        this.kind = kind;
+        this.startNanos = startNanos;
+    }
+
+    public boolean isRecording() {
+        return tracer != null;
+    }
+
+    public Span name(String name) {
+        if (isRecording()) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    public Span attribute(String key, Object value) {
+        if (isRecording() && value != null) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    public Span error(Throwable throwable) {
+        return error(throwable.getClass().getSimpleName()
+                + (throwable.getMessage() != null ? ": " + throwable.getMessage() : ""));
+    }
+
+    public Span error(String message) {
+        if (isRecording()) {
+            this.error = message;
+        }
+        return this;
+    }
+
+    public void end() {
+        end(System.nanoTime());
+    }
+
+    void end(long endNanos) {
+        if (isRecording()) {
+            this.endNanos = endNanos;
+            tracer.finish(this);
+        }
+    }
+
+    public String traceId() {
+        return traceId;
+    }
+
+    String spanId() {
+        return spanId;
+    }
+
+    String parentSpanId() {
+        return parentSpanId;
+    }
+
+    Span parent() {
+        return parent;
+    }
+
+    String name() {
+        return name;
+    }
+
+    SpanKind kind() {
+        return kind;
+    }
+
+    long startEpochNanos() {
+        return startNanos + EPOCH_OFFSET_NANOS;
+    }
+
+    long endEpochNanos() {
+        return endNanos + EPOCH_OFFSET_NANOS;
+    }
+
+    Map<String, Object> attributes() {
+        return attributes != null ? attributes : Map.of();
+    }
+
+    String error() {
+        return error;
+    }
+
+    private static long epochOffsetNanos() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano() - System.nanoTime();
+    }
+}
@@ -0,0 +1,177 @@
+package com.myworkflow.infrastructure.tracing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains ended spans off the request threads and appends them to
+ * traces.jsonl in tracing.export.directory, one OTLP-JSON
+ * ExportTraceServiceRequest per line, so the files can be replayed into any
+ * OpenTelemetry collector. The file rotates to traces.1.jsonl, traces.2.jsonl,
+ * ... once it reaches tracing.export.max-file-size, keeping tracing.export.max-files.
+ */
+@Slf4j
+@Component
+public class SpanFileExporter {
+
+    static final String FILE_NAME = "traces.jsonl";
+    private static final int SPANS_PER_LINE = 512;
+
+    private final Tracer tracer;
+    private final Path directory;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final String serviceName;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final List<Span> batch = new ArrayList<>();
+    private final Counter exported;
+
+    public SpanFileExporter(
+            Tracer tracer,
+            @Value("${tracing.export.directory:traces}") String directory,
+            @Value("${tracing.export.max-file-size:50MB}") DataSize maxFileSize,
+            @Value("${tracing.export.max-files:5}") int maxFiles,
+            @Value("${spring.application.name:myworkflow-backend}") String serviceName
+    ) {
+        this.tracer = tracer;
+        this.directory = Paths.get(directory);
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxFiles = Math.max(1, maxFiles);
+        this.serviceName = serviceName;
+        this.exported = Counter.builder("tracing.spans.exported")
+                .description("Spans written to the local trace files")
+                .register(Metrics.globalRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tracing.export.interval:PT5S}")
+    public synchronized void export() {
+        while (tracer.drain(batch::add, SPANS_PER_LINE) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        export();
+    }
+
+    private void write(List<Span> spans) {
+        Path file = directory.resolve(FILE_NAME);
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(file) && Files.size(file) >= maxFileSize) {
+                rotate();
+            }
+            try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                 JsonGenerator json = jsonFactory.createGenerator(out)) {
+                writeRequest(json, spans);
+                json.writeRaw('\n');
+            }
+            exported.increment(spans.size());
+        } catch (IOException e) {
+            log.warn("Could not export {} spans to {}", spans.size(), file, e);
+        }
+    }
+
+    private void rotate() throws IOException {
+        Files.deleteIfExists(directory.resolve(rotatedName(maxFiles - 1)));
+        for (int i = maxFiles - 2; i >= 0; i--) {
+            Path source = directory.resolve(rotatedName(i));
+            if (Files.exists(source)) {
+                Files.move(source, directory.resolve(rotatedName(i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static String rotatedName(int index) {
+        return index == 0 ? FILE_NAME : "traces." + index + ".jsonl";
+    }
+
+    private void writeRequest(JsonGenerator json, List<Span> spans) throws IOException {
+        json.writeStartObject();
+        json.writeArrayFieldStart("resourceSpans");
+        json.writeStartObject();
+        json.writeObjectFieldStart("resource");
+        writeAttributes(json, Map.of("service.name", serviceName));
+        json.writeEndObject();
+        json.writeArrayFieldStart("scopeSpans");
+        json.writeStartObject();
+        json.writeObjectFieldStart("scope");
+        json.writeStringField("name", "com.myworkflow");
+        json.writeEndObject();
+        json.writeArrayFieldStart("spans");
+        for (Span span : spans) {
+            writeSpan(json, span);
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private static void writeSpan(JsonGenerator json, Span span) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("traceId", span.traceId());
+        json.writeStringField("spanId", span.spanId());
+        if (span.parentSpanId() != null) {
+            json.writeStringField("parentSpanId", span.parentSpanId());
+        }
+        json.writeStringField("name", span.name());
+        json.writeNumberField("kind", span.kind().code());
+        // uint64 fields are strings in OTLP-JSON
+        json.writeStringField("startTimeUnixNano", Long.toString(span.startEpochNanos()));
+        json.writeStringField("endTimeUnixNano", Long.toString(span.endEpochNanos()));
+        writeAttributes(json, span.attributes());
+        if (span.error() != null) {
+            json.writeObjectFieldStart("status");
+            json.writeNumberField("code", 2);
+            json.writeStringField("message", span.error());
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeAttributes(JsonGenerator json, Map<String, ?> attributes) throws IOException {
+        json.writeArrayFieldStart("attributes");
+        for (Map.Entry<String, ?> attribute : attributes.entrySet()) {
+            json.writeStartObject();
+            json.writeStringField("key", attribute.getKey());
+            json.writeObjectFieldStart("value");
+            Object value = attribute.getValue();
+            if (value instanceof Integer || value instanceof Long) {
+                json.writeStringField("intValue", value.toString());
+            } else if (value instanceof Number number) {
+                json.writeNumberField("doubleValue", number.doubleValue());
+            } else if (value instanceof Boolean bool) {
+                json.writeBooleanField("boolValue", bool);
+            } else {
+                json.writeStringField("stringValue", value.toString());
+            }
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+}
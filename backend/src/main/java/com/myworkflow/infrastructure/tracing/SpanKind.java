@@ -0,0 +1,21 @@
+package com.myworkflow.infrastructure.tracing;
+
+/**
+ * OTLP span kinds, with the numbers they are exported as.
+ */
+public enum SpanKind {
+
+    INTERNAL(1),
+    SERVER(2),
+    CLIENT(3);
+
+    private final int code;
+
+    SpanKind(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+}
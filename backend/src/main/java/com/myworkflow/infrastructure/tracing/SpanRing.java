@@ -0,0 +1,75 @@
+package com.myworkflow.infrastructure.tracing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue between request threads ending spans and the single
+ * exporter thread draining them. Each slot carries a sequence number telling
+ * whose turn it is, so producers only race on one compare-and-set of the tail.
+ * A span arriving while the ring is full is rejected rather than waited for.
+ */
+final class SpanRing {
+
+    private final int mask;
+    private final AtomicReferenceArray<Span> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only touched by the draining thread
+    private long head;
+
+    SpanRing(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(Span span) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, span);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (lag < 0) {
+                // The consumer has not freed this slot since the last lap
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    synchronized int drain(Consumer<Span> consumer, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            Span span = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+            drained++;
+            consumer.accept(span);
+        }
+        return drained;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
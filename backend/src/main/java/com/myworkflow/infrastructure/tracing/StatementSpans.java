@@ -0,0 +1,42 @@
+package com.myworkflow.infrastructure.tracing;
+
+import com.myworkflow.infrastructure.datasource.StatementExecution;
+import com.myworkflow.infrastructure.datasource.StatementListener;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns each JDBC statement of a sampled request into a client span named
+ * after the operation and table, e.g. {@code SELECT tasks}.
+ */
+public class StatementSpans implements StatementListener {
+
+    private static final Pattern TABLE = Pattern.compile(
+            "^\\s*(?:select\\b.*?\\bfrom|insert\\s+into|update|delete\\s+from|merge\\s+into)\\s+([\\w.\"]+)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final Tracer tracer;
+
+    public StatementSpans(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void executed(StatementExecution execution) {
+        if (!tracer.isTracing() || execution.sql() == null) {
+            return;
+        }
+
+        String sql = execution.sql().strip();
+        int space = sql.indexOf(' ');
+        String operation = (space > 0 ? sql.substring(0, space) : sql).toUpperCase(Locale.ROOT);
+        Matcher table = TABLE.matcher(sql);
+        String name = table.find() ? operation + " " + table.group(1).replace("\"", "") : operation;
+
+        tracer.recordSpan(name, SpanKind.CLIENT, execution.startNanos(), execution.endNanos(),
+                Map.of("db.operation", operation, "db.statement", sql), execution.error());
+    }
+}
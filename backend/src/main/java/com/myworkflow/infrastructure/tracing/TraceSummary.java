@@ -0,0 +1,199 @@
+package com.myworkflow.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Command line summary of the files written by {@link SpanFileExporter}: the
+ * slowest spans, self time per span name, and the critical path of the slowest
+ * traces, i.e. the chain of spans each parent was last waiting on. Run through
+ * scripts/summarize-traces.sh:
+ * <pre>
+ *   TraceSummary [--dir traces] [--top 15] [--route "GET /api/dashboard"]
+ * </pre>
+ */
+public final class TraceSummary {
+
+    private final Map<String, List<Node>> traces = new HashMap<>();
+    private final List<Node> spans = new ArrayList<>();
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get("traces");
+        int top = 15;
+        String route = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--dir" -> directory = Paths.get(args[i + 1]);
+                case "--top" -> top = Integer.parseInt(args[i + 1]);
+                case "--route" -> route = args[i + 1];
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        TraceSummary summary = new TraceSummary();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".jsonl")).sorted().toList()) {
+                summary.read(file);
+            }
+        }
+        summary.link();
+        summary.print(top, route);
+    }
+
+    private void read(Path file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                for (JsonNode resource : mapper.readTree(line).path("resourceSpans")) {
+                    for (JsonNode scope : resource.path("scopeSpans")) {
+                        for (JsonNode span : scope.path("spans")) {
+                            Node node = new Node(span);
+                            spans.add(node);
+                            traces.computeIfAbsent(node.traceId, id -> new ArrayList<>()).add(node);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void link() {
+        for (List<Node> trace : traces.values()) {
+            Map<String, Node> byId = new HashMap<>();
+            trace.forEach(node -> byId.put(node.spanId, node));
+            for (Node node : trace) {
+                Node parent = node.parentSpanId != null ? byId.get(node.parentSpanId) : null;
+                if (parent != null) {
+                    node.parent = parent;
+                    parent.children.add(node);
+                }
+            }
+        }
+        spans.forEach(Node::computeSelf);
+    }
+
+    private void print(int top, String route) {
+        List<Node> roots = spans.stream()
+                .filter(node -> node.parent == null)
+                .filter(node -> route == null || node.name.equals(route))
+                .sorted(Comparator.comparingLong(Node::duration).reversed())
+                .toList();
+        System.out.printf(Locale.ROOT, "%d spans in %d traces%n", spans.size(), traces.size());
+
+        System.out.printf(Locale.ROOT, "%nSlowest spans%n%10s %10s  %-50s %s%n", "ms", "self ms", "name", "trace");
+        spans.stream()
+                .filter(node -> route == null || node.root().name.equals(route))
+                .sorted(Comparator.comparingLong(Node::duration).reversed())
+                .limit(top)
+                .forEach(node -> System.out.printf(Locale.ROOT, "%10.1f %10.1f  %-50s %s%n",
+                        millis(node.duration()), millis(node.self), node.name, node.traceId));
+
+        System.out.printf(Locale.ROOT, "%nSelf time by span name%n%8s %10s %10s %10s %12s  %s%n",
+                "count", "p50 ms", "p95 ms", "max ms", "self ms", "name");
+        Map<String, List<Node>> byName = new HashMap<>();
+        spans.stream()
+                .filter(node -> route == null || node.root().name.equals(route))
+                .forEach(node -> byName.computeIfAbsent(node.name, name -> new ArrayList<>()).add(node));
+        byName.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, List<Node>> entry) ->
+                        entry.getValue().stream().mapToLong(node -> node.self).sum()).reversed())
+                .limit(top)
+                .forEach(entry -> {
+                    long[] durations = entry.getValue().stream().mapToLong(Node::duration).sorted().toArray();
+                    long self = entry.getValue().stream().mapToLong(node -> node.self).sum();
+                    System.out.printf(Locale.ROOT, "%8d %10.1f %10.1f %10.1f %12.1f  %s%n", durations.length,
+                            millis(percentile(durations, 0.50)), millis(percentile(durations, 0.95)),
+                            millis(durations[durations.length - 1]), millis(self), entry.getKey());
+                });
+
+        System.out.printf(Locale.ROOT, "%nCritical paths of the slowest traces%n");
+        roots.stream().limit(Math.min(top, 5)).forEach(root -> {
+            System.out.printf(Locale.ROOT, "%n%s  %.1f ms  %s%n", root.name, millis(root.duration()), root.traceId);
+            int depth = 0;
+            for (Node node = root; node != null; node = node.lastChild(), depth++) {
+                System.out.printf(Locale.ROOT, "%10.1f ms (self %.1f)  %s%s%n",
+                        millis(node.duration()), millis(node.self), "  ".repeat(depth), node.name);
+            }
+        });
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Node {
+
+        private final String traceId;
+        private final String spanId;
+        private final String parentSpanId;
+        private final String name;
+        private final long start;
+        private final long end;
+        private final List<Node> children = new ArrayList<>();
+        private Node parent;
+        private long self;
+
+        private Node(JsonNode span) {
+            this.traceId = span.path("traceId").asText();
+            this.spanId = span.path("spanId").asText();
+            this.parentSpanId = span.hasNonNull("parentSpanId") ? span.path("parentSpanId").asText() : null;
+            this.name = span.path("name").asText();
+            this.start = Long.parseLong(span.path("startTimeUnixNano").asText());
+            this.end = Long.parseLong(span.path("endTimeUnixNano").asText());
+        }
+
+        private long duration() {
+            return end - start;
+        }
+
+        private Node root() {
+            Node node = this;
+            while (node.parent != null) {
+                node = node.parent;
+            }
+            return node;
+        }
+
+        // The child that finished last is the one this span was waiting on at the end
+        private Node lastChild() {
+            return children.stream().max(Comparator.comparingLong(child -> child.end)).orElse(null);
+        }
+
+        // Duration minus the time covered by at least one child, overlapping children counted once
+        private void computeSelf() {
+            List<Node> sorted = children.stream().sorted(Comparator.comparingLong(child -> child.start)).toList();
+            long covered = 0;
+            long coveredUntil = start;
+            for (Node child : sorted) {
+                long from = Math.max(child.start, coveredUntil);
+                long to = Math.min(child.end, end);
+                if (to > from) {
+                    covered += to - from;
+                    coveredUntil = to;
+                }
+            }
+            self = Math.max(0, duration() - covered);
+        }
+    }
+}
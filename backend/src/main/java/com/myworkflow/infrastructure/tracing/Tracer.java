@@ -0,0 +1,112 @@
+package com.myworkflow.infrastructure.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Starts spans and keeps track of the current one per thread. The sampling
+ * decision is made once per request in {@link #startTrace} and every span below
+ * inherits it: threads outside a sampled trace only ever get {@link Span#NOOP},
+ * which costs a ThreadLocal lookup. Ended spans go into a {@link SpanRing} for
+ * {@link SpanFileExporter}; when it is full they are dropped and counted.
+ */
+public class Tracer {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final double sampleRate;
+    private final SpanRing ring;
+    private final Counter dropped;
+
+    public Tracer(double sampleRate, int ringSize) {
+        this.sampleRate = sampleRate;
+        this.ring = new SpanRing(ringSize);
+        this.dropped = Counter.builder("tracing.spans.dropped")
+                .description("Ended spans rejected because the export ring was full")
+                .register(Metrics.globalRegistry);
+    }
+
+    // Continues the caller's trace when it sent a W3C traceparent, otherwise starts a new one.
+    // Only trusted callers decide sampling: anyone else's flag is ignored and the local rate
+    // applies, so a public client cannot force every request it sends into the ring
+    public Span startTrace(String name, String traceparent, boolean trustedCaller) {
+        String traceId = null;
+        String parentSpanId = null;
+        if (traceparent != null && traceparent.length() == 55 && traceparent.startsWith("00-")) {
+            traceId = traceparent.substring(3, 35);
+            parentSpanId = traceparent.substring(36, 52);
+        }
+
+        boolean sampled = traceId != null && trustedCaller
+                ? (Character.digit(traceparent.charAt(54), 16) & 1) == 1
+                : sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled) {
+            return Span.NOOP;
+        }
+        if (traceId == null) {
+            traceId = randomId() + randomId();
+        }
+
+        Span span = new Span(this, traceId, randomId(), parentSpanId, null,
+                name, SpanKind.SERVER, System.nanoTime());
+        CURRENT.set(span);
+        return span;
+    }
+
+    public Span startSpan(String name, SpanKind kind) {
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return Span.NOOP;
+        }
+        Span span = new Span(this, parent.traceId(), randomId(), parent.spanId(), parent,
+                name, kind, System.nanoTime());
+        CURRENT.set(span);
+        return span;
+    }
+
+    // For work timed elsewhere, e.g. a JDBC statement; the current span stays current
+    public void recordSpan(String name, SpanKind kind, long startNanos, long endNanos,
+                           Map<String, Object> attributes, Throwable error) {
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return;
+        }
+        Span span = new Span(this, parent.traceId(), randomId(), parent.spanId(), null,
+                name, kind, startNanos);
+        attributes.forEach(span::attribute);
+        if (error != null) {
+            span.error(error);
+        }
+        span.end(endNanos);
+    }
+
+    public boolean isTracing() {
+        return CURRENT.get() != null;
+    }
+
+    void finish(Span span) {
+        if (CURRENT.get() == span) {
+            if (span.parent() != null) {
+                CURRENT.set(span.parent());
+            } else {
+                CURRENT.remove();
+            }
+        }
+        if (!ring.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    int drain(Consumer<Span> consumer, int max) {
+        return ring.drain(consumer, max);
+    }
+
+    private static String randomId() {
+        String hex = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return hex.length() == 16 ? hex : "0".repeat(16 - hex.length()) + hex;
+    }
+}
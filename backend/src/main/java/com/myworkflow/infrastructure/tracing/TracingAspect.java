@@ -0,0 +1,42 @@
+package com.myworkflow.infrastructure.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * A span per public controller and service method called inside a sampled
+ * request. Calls from scheduled jobs or async tasks pass straight through.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("execution(public * com.myworkflow.presentation.controller..*(..))"
+            + " || execution(public * com.myworkflow.application.service..*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!tracer.isTracing()) {
+            return joinPoint.proceed();
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String type = signature.getDeclaringType().getSimpleName();
+        Span span = tracer.startSpan(type + "." + signature.getName(), SpanKind.INTERNAL)
+                .attribute("code.namespace", signature.getDeclaringTypeName())
+                .attribute("code.function", signature.getName());
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
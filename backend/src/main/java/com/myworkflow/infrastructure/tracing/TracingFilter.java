@@ -0,0 +1,71 @@
+package com.myworkflow.infrastructure.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Opens the server span of each API request, outside every other filter so the
+ * trace covers the whole filter chain. The span is named after the matched route,
+ * e.g. {@code GET /api/projects/{id}}, once the controller has been picked.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    // Addresses whose traceparent sampled flag is honoured, e.g. an internal gateway; nobody by default
+    @Value("${tracing.trusted-callers:}")
+    private Set<String> trustedCallers;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Span span = tracer.startTrace(request.getMethod(), request.getHeader("traceparent"),
+                trustedCallers.contains(request.getRemoteAddr()));
+        if (!span.isRecording()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        span.attribute("http.request.method", request.getMethod())
+                .attribute("url.path", request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String route) {
+                span.name(request.getMethod() + " " + route).attribute("http.route", route);
+            }
+            span.attribute("http.response.status_code", response.getStatus());
+            if (response.getStatus() >= 500) {
+                span.error("HTTP " + response.getStatus());
+            }
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.myworkflow.presentation.controller;
+
+import com.myworkflow.infrastructure.exception.ResourceNotFoundException;
+import com.myworkflow.infrastructure.exception.ValidationException;
+import com.myworkflow.infrastructure.profiling.ContinuousRecording;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@RestController
+@RequestMapping("/api/admin/jfr")
+@RequiredArgsConstructor
+public class ProfilingController {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ContinuousRecording continuousRecording;
+
+    // Open the file in JDK Mission Control or with `jfr print`
+    @GetMapping
+    public ResponseEntity<Resource> dumpRecording(@RequestParam(defaultValue = "5") int minutes) throws IOException {
+        if (minutes < 1) {
+            throw new ValidationException("minutes must be at least 1");
+        }
+        if (!continuousRecording.isRunning()) {
+            throw new ResourceNotFoundException("The continuous JFR recording is not running");
+        }
+
+        Duration window = Duration.ofMinutes(minutes);
+        if (window.compareTo(continuousRecording.maxAge()) > 0) {
+            window = continuousRecording.maxAge();
+        }
+        Path file = continuousRecording.dump(window);
+        long size = Files.size(file);
+        ContentDisposition attachment = ContentDisposition.attachment()
+                .filename("myworkflow-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr")
+                .build();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .body(new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+    }
+}
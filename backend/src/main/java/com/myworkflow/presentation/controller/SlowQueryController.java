@@ -0,0 +1,32 @@
+package com.myworkflow.presentation.controller;
+
+import com.myworkflow.application.dto.response.ApiResponse;
+import com.myworkflow.application.dto.response.SlowQueryResponse;
+import com.myworkflow.infrastructure.datasource.SlowQueryLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@RequiredArgsConstructor
+public class SlowQueryController {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SlowQueryResponse>>> getSlowQueries() {
+        return ResponseEntity.ok(ApiResponse.success(slowQueryLog.entries()));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> clearSlowQueries() {
+        slowQueryLog.clear();
+        return ResponseEntity.ok(ApiResponse.success("Slow query log cleared", null));
+    }
+}
@@ -0,0 +1,50 @@
+-- Schema as Hibernate generated it before migrations took over. Databases created
+-- that way are baselined at this version and skip it (spring.flyway.baseline-on-migrate).
+-- Constraint names are Hibernate's, so both kinds of database end up identical.
+
+CREATE TABLE users (
+    id                BIGSERIAL    NOT NULL,
+    email             VARCHAR(255) NOT NULL UNIQUE,
+    password          VARCHAR(255) NOT NULL,
+    first_name        VARCHAR(255) NOT NULL,
+    last_name         VARCHAR(255) NOT NULL,
+    profile_image_url VARCHAR(255),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE projects (
+    id          BIGSERIAL    NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    user_id     BIGINT       NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fkhswfwa3ga88vxv1pmboss6jhm FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE tasks (
+    id          BIGSERIAL    NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    due_date    DATE,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE')),
+    project_id  BIGINT       NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fksfhn82y57i3k9uxww1s007acc FOREIGN KEY (project_id) REFERENCES projects
+);
+
+CREATE TABLE image_blobs (
+    hash              VARCHAR(64)  NOT NULL,
+    content_type      VARCHAR(255) NOT NULL,
+    extension         VARCHAR(8)   NOT NULL,
+    size_bytes        BIGINT       NOT NULL,
+    reference_count   BIGINT       NOT NULL,
+    variant_extension VARCHAR(8),
+    created_at        TIMESTAMP(6),
+    PRIMARY KEY (hash)
+);
@@ -0,0 +1,120 @@
+-- Hash partitioning of tasks on project_id. Every task query filters or joins on
+-- project_id, so each one is pruned to the partition holding the project, and the
+-- per-partition indexes stay small enough to remain cached.
+--
+-- Existing rows are moved online: this migration only creates the new table and a
+-- trigger that mirrors every write on tasks into it. scripts/partition-tasks.sh then
+-- copies the old rows in small committed batches (tasks_partition_backfill) and
+-- switches the tables in one short transaction (tasks_partition_swap). A database
+-- without tasks is switched right here.
+
+-- The primary key has to contain the partition key. Leading with project_id lets it
+-- serve the per-project lookups too; ids stay unique because they come from one sequence.
+CREATE SEQUENCE tasks_partitioned_id_seq;
+
+CREATE TABLE tasks_partitioned (
+    id          BIGINT       NOT NULL DEFAULT nextval('tasks_partitioned_id_seq'),
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    due_date    DATE,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE')),
+    project_id  BIGINT       NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (project_id, id),
+    CONSTRAINT fksfhn82y57i3k9uxww1s007acc FOREIGN KEY (project_id) REFERENCES projects
+) PARTITION BY HASH (project_id);
+
+ALTER SEQUENCE tasks_partitioned_id_seq OWNED BY tasks_partitioned.id;
+
+-- 16 partitions keep each one around a million rows at 10M+ tasks. Changing the
+-- count later means a re-partition, so it is fixed here rather than configurable.
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE tasks_p%s PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(i::text, 2, '0'), i);
+    END LOOP;
+END $$;
+
+-- Mirrors writes on the old table while the backfill runs. The upsert also settles a
+-- row the backfill copied concurrently.
+CREATE FUNCTION tasks_partition_sync() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND OLD.project_id <> NEW.project_id) THEN
+        DELETE FROM tasks_partitioned WHERE project_id = OLD.project_id AND id = OLD.id;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO tasks_partitioned (id, title, description, due_date, status, project_id, created_at, updated_at)
+    VALUES (NEW.id, NEW.title, NEW.description, NEW.due_date, NEW.status, NEW.project_id, NEW.created_at, NEW.updated_at)
+    ON CONFLICT (project_id, id) DO UPDATE SET
+        title = EXCLUDED.title,
+        description = EXCLUDED.description,
+        due_date = EXCLUDED.due_date,
+        status = EXCLUDED.status,
+        created_at = EXCLUDED.created_at,
+        updated_at = EXCLUDED.updated_at;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER tasks_partition_sync
+    AFTER INSERT OR UPDATE OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION tasks_partition_sync();
+
+-- Copies existing rows in id ranges, committing after each batch so no lock or
+-- snapshot is held for long. FOR SHARE makes a concurrent update or delete of a row
+-- in the batch wait for the copy, so the trigger then sees and fixes it. Must be
+-- invoked with CALL outside an explicit transaction; safe to re-run.
+CREATE PROCEDURE tasks_partition_backfill(batch_size INTEGER DEFAULT 10000, pause_seconds DOUBLE PRECISION DEFAULT 0)
+LANGUAGE plpgsql AS $$
+DECLARE
+    last_id BIGINT := 0;
+    max_id  BIGINT;
+BEGIN
+    SELECT COALESCE(max(id), 0) INTO max_id FROM tasks;
+
+    WHILE last_id < max_id LOOP
+        INSERT INTO tasks_partitioned (id, title, description, due_date, status, project_id, created_at, updated_at)
+        SELECT id, title, description, due_date, status, project_id, created_at, updated_at
+        FROM tasks
+        WHERE id > last_id AND id <= last_id + batch_size
+        FOR SHARE
+        ON CONFLICT (project_id, id) DO NOTHING;
+
+        last_id := last_id + batch_size;
+        COMMIT;
+        PERFORM pg_sleep(pause_seconds);
+    END LOOP;
+END $$;
+
+-- Blocks writes (not reads) while the row counts are compared, then renames. The old
+-- table is kept as tasks_unpartitioned until it is dropped by hand.
+CREATE PROCEDURE tasks_partition_swap()
+LANGUAGE plpgsql AS $$
+BEGIN
+    LOCK TABLE tasks IN SHARE ROW EXCLUSIVE MODE;
+
+    IF (SELECT count(*) FROM tasks) <> (SELECT count(*) FROM tasks_partitioned) THEN
+        RAISE EXCEPTION 'tasks_partitioned is incomplete, run CALL tasks_partition_backfill() first';
+    END IF;
+
+    DROP TRIGGER tasks_partition_sync ON tasks;
+    ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+    ALTER TABLE tasks_partitioned RENAME TO tasks;
+
+    -- Rows copied so far kept their ids from the old sequence
+    PERFORM setval('tasks_partitioned_id_seq', (SELECT COALESCE(max(id), 0) + 1 FROM tasks_unpartitioned), false);
+END $$;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM tasks) THEN
+        CALL tasks_partition_swap();
+        DROP TABLE tasks_unpartitioned;
+    END IF;
+END $$;
@@ -0,0 +1,37 @@
+-- Cold storage for completed tasks. TaskArchiver moves DONE tasks past the archive
+-- threshold out of tasks in small batches, so the hot table and its indexes only
+-- hold live work. Archived rows are never updated, only read for history and
+-- removed with their project.
+CREATE TABLE archived_tasks (
+    id          BIGINT       NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    due_date    DATE,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE')),
+    project_id  BIGINT       NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (project_id, id),
+    CONSTRAINT fk_archived_tasks_project FOREIGN KEY (project_id) REFERENCES projects
+);
+
+-- Per-project number of archived tasks, maintained in the same statement that moves
+-- them, so project totals add one row instead of counting the archive
+CREATE TABLE archived_task_counts (
+    project_id BIGINT NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (project_id),
+    CONSTRAINT fk_archived_task_counts_project FOREIGN KEY (project_id) REFERENCES projects
+);
+
+-- Archive candidates without walking live work. Also created on the partitioned
+-- table when V2's switch has not happened yet, so it survives the swap.
+CREATE INDEX tasks_done_updated_at_idx ON tasks (updated_at) WHERE status = 'DONE';
+
+DO $$
+BEGIN
+    IF to_regclass('tasks_partitioned') IS NOT NULL THEN
+        CREATE INDEX tasks_partitioned_done_updated_at_idx ON tasks_partitioned (updated_at) WHERE status = 'DONE';
+    END IF;
+END $$;
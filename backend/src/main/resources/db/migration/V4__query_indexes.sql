@@ -0,0 +1,39 @@
+-- Indexes for the access paths of the repository methods. Before this, projects.user_id
+-- had no index at all, so every per-user listing, the dashboard and the ownership
+-- subqueries scanned projects. QueryPlanTests fails when one of these paths falls
+-- back to a sequential scan.
+--
+-- Plain CREATE INDEX blocks writes to the table while it builds, and CONCURRENTLY is
+-- not allowed inside a migration transaction nor on a partitioned table. On a large
+-- database, apply during a quiet period.
+
+-- Per-user project lists, newest first (findSummaries, dashboard, ownership checks)
+CREATE INDEX projects_user_id_created_at_idx ON projects (user_id, created_at DESC);
+
+-- Orphaned upload collection only looks up users that have an image
+CREATE INDEX users_profile_image_url_idx ON users (profile_image_url) WHERE profile_image_url IS NOT NULL;
+
+-- Task indexes lead with project_id so each one is pruned to a single partition like
+-- the primary key. Created on the partitioned table too when V2's switch is still
+-- pending, so they survive the swap.
+DO $$
+DECLARE
+    target TEXT;
+BEGIN
+    FOREACH target IN ARRAY ARRAY['tasks', 'tasks_partitioned'] LOOP
+        CONTINUE WHEN to_regclass(target) IS NULL;
+
+        -- Status filter, findByProjectAndStatus, and index-only counts for countByProjectId
+        EXECUTE format('CREATE INDEX %I ON %I (project_id, status)', target || '_project_id_status_idx', target);
+        -- Due date filter, overdue filter and the dashboard's due date order
+        EXECUTE format('CREATE INDEX %I ON %I (project_id, due_date)', target || '_project_id_due_date_idx', target);
+        -- Project task lists in the default newest-first order
+        EXECUTE format('CREATE INDEX %I ON %I (project_id, created_at DESC)', target || '_project_id_created_at_idx', target);
+
+        -- findProjectIdById only has the task id. The unpartitioned table's primary key
+        -- already covers it, the partitioned one leads with project_id
+        IF (SELECT relkind FROM pg_class WHERE oid = to_regclass(target)) = 'p' THEN
+            EXECUTE format('CREATE INDEX %I ON %I (id)', target || '_id_idx', target);
+        END IF;
+    END LOOP;
+END $$;
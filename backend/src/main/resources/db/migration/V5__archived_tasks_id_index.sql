@@ -0,0 +1,4 @@
+-- Tasks listed with includeArchived are addressed by id alone, and the primary key
+-- leads with project_id. Archived rows are only inserted in batches, so the extra
+-- index costs the archiver a little and no user write.
+CREATE INDEX archived_tasks_id_idx ON archived_tasks (id);
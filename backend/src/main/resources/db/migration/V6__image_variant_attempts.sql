@@ -0,0 +1,6 @@
+-- Counts variant generation attempts, so the retry sweep re-queues uploads whose job
+-- was dropped or failed and gives up on images that can never be decoded.
+ALTER TABLE image_blobs ADD COLUMN variant_attempts INTEGER NOT NULL DEFAULT 0;
+
+CREATE INDEX image_blobs_pending_variants_idx ON image_blobs (created_at)
+    WHERE variant_extension IS NULL;
@@ -0,0 +1,92 @@
+package com.myworkflow.backend;
+
+import com.myworkflow.application.service.JwtService;
+import com.myworkflow.domain.model.User;
+import com.myworkflow.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /api/admin/** is only open to the accounts listed in admin.emails: anonymous
+ * callers and every other signed-in user are turned away before the controller.
+ */
+@H2SpringBootTest(properties = {
+        "test.h2.database=admin",
+        "admin.emails=admin@example.com"
+})
+@AutoConfigureMockMvc
+class AdminEndpointSecurityTests {
+
+    private static final String ADMIN_EMAIL = "admin@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.findByEmail(ADMIN_EMAIL)
+                .orElseGet(() -> userRepository.save(user(ADMIN_EMAIL)));
+        User user = userRepository.save(user("member-" + UUID.randomUUID() + "@example.com"));
+
+        adminToken = jwtService.generateToken(admin);
+        userToken = jwtService.generateToken(user);
+    }
+
+    @Test
+    void anonymousCallerIsRejected() throws Exception {
+        mockMvc.perform(get("/api/admin/slow-queries"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/jfr"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void signedInNonAdminIsRejected() throws Exception {
+        mockMvc.perform(get("/api/admin/slow-queries").header(HttpHeaders.AUTHORIZATION, bearer(userToken)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/admin/slow-queries").header(HttpHeaders.AUTHORIZATION, bearer(userToken)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/jfr").header(HttpHeaders.AUTHORIZATION, bearer(userToken)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void listedAdminGetsThrough() throws Exception {
+        mockMvc.perform(get("/api/admin/slow-queries").header(HttpHeaders.AUTHORIZATION, bearer(adminToken)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/admin/slow-queries").header(HttpHeaders.AUTHORIZATION, bearer(adminToken)))
+                .andExpect(status().isOk());
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .email(email)
+                .password("not-used")
+                .firstName("Admin")
+                .lastName("Test")
+                .build();
+    }
+
+    private static String bearer(String token) {
+        return "Bearer " + token;
+    }
+}
@@ -0,0 +1,27 @@
+package com.myworkflow.backend;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link SpringBootTest} against an in-memory H2 database, configured from
+ * test.properties and h2-test.properties. Only what a test needs on top goes in
+ * {@link #properties()}, starting with its own {@code test.h2.database}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest
+@TestPropertySource(locations = {"classpath:test.properties", "classpath:h2-test.properties"})
+public @interface H2SpringBootTest {
+
+    @AliasFor(annotation = SpringBootTest.class)
+    String[] properties() default {};
+}
@@ -0,0 +1,92 @@
+package com.myworkflow.backend;
+
+import com.myworkflow.domain.model.ImageBlob;
+import com.myworkflow.domain.repository.ImageBlobRepository;
+import com.myworkflow.infrastructure.storage.ImageVariantGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pending variants are re-queued by the sweep, and a blob that keeps failing
+ * stops being retried once it has used up its attempts.
+ */
+@H2SpringBootTest(properties = {
+        "test.h2.database=variants",
+        "image.variants.max-attempts=3",
+        "image.variants.retry-delay=-PT1S",
+        "image.variants.retry-interval=PT1H"
+})
+class ImageVariantRetryTests {
+
+    @Autowired
+    private ImageVariantGenerator imageVariantGenerator;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    @Qualifier("imageVariantExecutor")
+    private ThreadPoolTaskExecutor imageVariantExecutor;
+
+    @Test
+    void failingBlobIsRetriedUntilAttemptsRunOut() throws InterruptedException {
+        // No file behind the row, so every attempt fails
+        String hash = saveBlob(1);
+
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            sweep();
+            assertEquals(attempt, attempts(hash));
+        }
+
+        sweep();
+        assertEquals(3, attempts(hash));
+        assertNull(imageBlobRepository.findById(hash).orElseThrow().getVariantExtension());
+    }
+
+    @Test
+    void unreferencedBlobIsNotRetried() throws InterruptedException {
+        String hash = saveBlob(0);
+
+        sweep();
+
+        assertEquals(0, attempts(hash));
+    }
+
+    private String saveBlob(long referenceCount) {
+        String hash = HexFormat.of().formatHex(UUID.randomUUID().toString().getBytes()).substring(0, 64);
+        imageBlobRepository.save(ImageBlob.builder()
+                .hash(hash)
+                .contentType("image/png")
+                .extension("png")
+                .sizeBytes(1)
+                .referenceCount(referenceCount)
+                .build());
+        return hash;
+    }
+
+    private int attempts(String hash) {
+        return imageBlobRepository.findById(hash).orElseThrow().getVariantAttempts();
+    }
+
+    // Runs the sweep and waits for every job it queued to finish
+    private void sweep() throws InterruptedException {
+        imageVariantGenerator.requeuePending();
+
+        ThreadPoolExecutor pool = imageVariantExecutor.getThreadPoolExecutor();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.getCompletedTaskCount() < pool.getTaskCount()) {
+            assertTrue(System.currentTimeMillis() < deadline, "variant jobs did not finish");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.myworkflow.backend;
+
+import com.myworkflow.application.dto.request.CreateProjectRequest;
+import com.myworkflow.application.dto.request.CreateTaskRequest;
+import com.myworkflow.application.dto.request.PageRequestDTO;
+import com.myworkflow.application.dto.request.TaskFilterRequest;
+import com.myworkflow.application.dto.request.UpdateProfileRequest;
+import com.myworkflow.application.dto.request.UpdateProjectRequest;
+import com.myworkflow.application.dto.request.UpdateTaskRequest;
+import com.myworkflow.application.dto.response.ProjectResponse;
+import com.myworkflow.application.dto.response.TaskResponse;
+import com.myworkflow.application.service.DashboardService;
+import com.myworkflow.application.service.ProjectService;
+import com.myworkflow.application.service.TaskService;
+import com.myworkflow.application.service.UserService;
+import com.myworkflow.domain.model.ArchivedTask;
+import com.myworkflow.domain.model.TaskStatus;
+import com.myworkflow.domain.model.User;
+import com.myworkflow.domain.repository.ArchivedTaskRepository;
+import com.myworkflow.domain.repository.ProjectRepository;
+import com.myworkflow.domain.repository.TaskRepository;
+import com.myworkflow.domain.repository.UserRepository;
+import com.myworkflow.infrastructure.exception.ConflictException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exact statements sent by every public method of the task, project, dashboard and
+ * user services. Each call runs against three projects of four tasks, so a query
+ * per row shows up as a repeated read, and its SQL is compared with the snapshot in
+ * src/test/resources/query-snapshots. The second-level cache is emptied before
+ * each call so counts do not depend on test order; the ownership indexes are warm,
+ * as they are after the fixture's own writes in production.
+ */
+@H2SpringBootTest(properties = {
+        "test.h2.database=querycount",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "file.upload-dir=target/query-count-uploads"
+})
+class QueryCountTests {
+
+    private static final String PASSWORD = "password123";
+
+    // H2 has no ON CONFLICT ... DO UPDATE. Every fixture upload is a new blob, so a
+    // plain MERGE behaves the same; the snapshot keeps the Postgres statement.
+    private static final Pattern UPSERT = Pattern.compile(
+            "INSERT INTO (\\w+) (\\([^)]*\\)) (VALUES .*?) ON CONFLICT \\((\\w+)\\) DO UPDATE .*", Pattern.DOTALL);
+
+    @Autowired
+    private QueryRecorder recorder;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private User user;
+    private final List<ProjectResponse> projects = new ArrayList<>();
+    private final List<TaskResponse> tasks = new ArrayList<>();
+
+    @TestConfiguration
+    static class RecorderConfiguration {
+
+        @Bean
+        QueryRecorder queryRecorder() {
+            return new QueryRecorder();
+        }
+
+        // Ahead of the application's own inspector, which keeps this one behind it
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        HibernatePropertiesCustomizer queryRecorderCustomizer(QueryRecorder recorder) {
+            StatementInspector inspector = sql -> UPSERT.matcher(recorder.inspect(sql))
+                    .replaceFirst("MERGE INTO $1 $2 KEY ($4) $3");
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        recorder.setStatistics(sessionFactory.getStatistics());
+
+        user = userRepository.save(User.builder()
+                .email("queries-" + UUID.randomUUID() + "@example.com")
+                .password(passwordEncoder.encode(PASSWORD))
+                .firstName("Query")
+                .lastName("Count")
+                .build());
+
+        projects.clear();
+        tasks.clear();
+        for (int p = 0; p < 3; p++) {
+            ProjectResponse project = projectService.createProject(user, CreateProjectRequest.builder()
+                    .title("Project " + p)
+                    .description("Query count fixture")
+                    .build());
+            projects.add(project);
+            for (int t = 0; t < 4; t++) {
+                tasks.add(taskService.createTask(project.getId(), user, CreateTaskRequest.builder()
+                        .title("Task " + p + "-" + t)
+                        .description("Query count fixture")
+                        .dueDate(LocalDate.now().plusDays(t))
+                        .build()));
+            }
+        }
+    }
+
+    // TaskService
+
+    @Test
+    void createTask() {
+        QueryRecorder.Recording<TaskResponse> recording = recordCold(() -> taskService.createTask(
+                projectId(), user, CreateTaskRequest.builder().title("New task").build()));
+
+        // The response reads the project title through the reference, one lazy load
+        verify("TaskService", "createTask", recording, "{insert=1, select=1}");
+        assertEquals(1, recording.entityFetches());
+    }
+
+    @Test
+    void getTasksByProject() {
+        verify("TaskService", "getTasksByProject", recordCold(() ->
+                taskService.getTasksByProject(projectId(), user, TaskFilterRequest.builder().build())), "{select=1}");
+    }
+
+    @Test
+    void getTasksByProjectIncludingArchived() {
+        verify("TaskService", "getTasksByProject includeArchived", recordCold(() ->
+                taskService.getTasksByProject(projectId(), user,
+                        TaskFilterRequest.builder().includeArchived(true).build())), "{select=1}");
+    }
+
+    @Test
+    void getTaskById() {
+        QueryRecorder.Recording<?> recording = recordCold(() -> taskService.getTaskById(taskId(), user));
+
+        // Task, project and owner come from one fetch join
+        verify("TaskService", "getTaskById", recording, "{select=1}");
+        assertEquals(0, recording.entityFetches());
+    }
+
+    @Test
+    void getArchivedTaskById() {
+        Long taskId = archiveTask();
+        QueryRecorder.Recording<?> recording = recordCold(() -> taskService.getTaskById(taskId, user));
+
+        // The index still points at the project, the live read misses and the archive answers
+        verify("TaskService", "getTaskById archived", recording, "{select=2}");
+        assertEquals(0, recording.entityFetches());
+    }
+
+    @Test
+    void updateArchivedTask() {
+        Long taskId = archiveTask();
+
+        assertThrows(ConflictException.class, () -> taskService.updateTask(taskId, user,
+                UpdateTaskRequest.builder().title("Renamed").build()));
+        assertThrows(ConflictException.class, () -> taskService.deleteTask(taskId, user));
+    }
+
+    @Test
+    void updateTask() {
+        verify("TaskService", "updateTask", recordCold(() -> taskService.updateTask(taskId(), user,
+                UpdateTaskRequest.builder().title("Renamed").status(TaskStatus.IN_PROGRESS).build())),
+                "{update=1, select=1}");
+    }
+
+    @Test
+    void markTaskAsCompleted() {
+        verify("TaskService", "markTaskAsCompleted", recordCold(() ->
+                taskService.markTaskAsCompleted(taskId(), user)), "{update=1, select=1}");
+    }
+
+    @Test
+    void deleteTask() {
+        verify("TaskService", "deleteTask", recordCold(() -> {
+            taskService.deleteTask(taskId(), user);
+            return null;
+        }), "{delete=1}");
+    }
+
+    @Test
+    void getUserTasks() {
+        verify("TaskService", "getUserTasks", recordCold(() ->
+                taskService.getUserTasks(user, TaskFilterRequest.builder().size(5).build())), "{select=2}");
+    }
+
+    @Test
+    void getUserTasksFiltered() {
+        verify("TaskService", "getUserTasks filtered", recordCold(() -> taskService.getUserTasks(user,
+                TaskFilterRequest.builder().status(TaskStatus.TODO).search("task").overdue(false).build())),
+                "{select=2}");
+    }
+
+    // ProjectService
+
+    @Test
+    void createProject() {
+        verify("ProjectService", "createProject", recordCold(() -> projectService.createProject(user,
+                CreateProjectRequest.builder().title("New project").build())), "{insert=1}");
+    }
+
+    @Test
+    void getUserProjects() {
+        verify("ProjectService", "getUserProjects", recordCold(() ->
+                projectService.getUserProjects(user, PageRequestDTO.builder().size(2).build())), "{select=2}");
+    }
+
+    @Test
+    void getProjectById() {
+        verify("ProjectService", "getProjectById", recordCold(() ->
+                projectService.getProjectById(projectId(), user)), "{select=2}");
+    }
+
+    @Test
+    void updateProject() {
+        verify("ProjectService", "updateProject", recordCold(() -> projectService.updateProject(projectId(), user,
+                UpdateProjectRequest.builder().title("Renamed").build())), "{select=2, update=1}");
+    }
+
+    @Test
+    void deleteProject() {
+        verify("ProjectService", "deleteProject", recordCold(() -> {
+            projectService.deleteProject(projectId(), user);
+            return null;
+        }), "{select=1, delete=4}");
+    }
+
+    // DashboardService
+
+    @Test
+    void getDashboardData() {
+        verify("DashboardService", "getDashboardData", recordCold(() ->
+                dashboardService.getDashboardData(user)), "{select=1}");
+    }
+
+    @Test
+    void getStats() {
+        verify("DashboardService", "getStats", recordCold(() -> dashboardService.getStats(user)), "{select=1}");
+    }
+
+    // UserService
+
+    @Test
+    void updateProfile() {
+        verify("UserService", "updateProfile", recordCold(() -> userService.updateProfile(user.getId(),
+                UpdateProfileRequest.builder().firstName("Renamed").build())), "{select=1, update=1}");
+    }
+
+    @Test
+    void updateProfilePassword() {
+        verify("UserService", "updateProfile password", recordCold(() -> userService.updateProfile(user.getId(),
+                UpdateProfileRequest.builder().currentPassword(PASSWORD).password("changed456").build())),
+                "{select=1, update=1}");
+    }
+
+    @Test
+    void updateProfileImage() {
+        uploadProfileImage();
+
+        // Replacing an image also releases the previous blob; its row and file are left to the collector
+        verify("UserService", "updateProfileImage", recordCold(this::uploadProfileImage),
+                "{select=2, insert=1, update=2}");
+    }
+
+    @Test
+    void getProfile() {
+        verify("UserService", "getProfile", recordCold(() -> userService.getProfile(user.getId())), "{select=1}");
+    }
+
+    private <T> QueryRecorder.Recording<T> recordCold(Supplier<T> call) {
+        sessionFactory.getCache().evictAllRegions();
+        return recorder.record(call);
+    }
+
+    private void verify(String service, String call, QueryRecorder.Recording<?> recording, String expectedKinds) {
+        verify(service, call, recording, expectedKinds, 0);
+    }
+
+    private void verify(String service, String call, QueryRecorder.Recording<?> recording, String expectedKinds,
+                        int allowedRepeatedReads) {
+        assertEquals(allowedRepeatedReads, recording.repeatedReads().size(),
+                service + " " + call + " repeats reads: " + recording.repeatedReads());
+        assertEquals(expectedKinds, recording.countsByKind().toString(), service + " " + call);
+        QuerySnapshots.verify(service, call, recording.toSnapshot());
+    }
+
+    private Object uploadProfileImage() {
+        try {
+            return userService.updateProfileImage(user.getId(),
+                    new MockMultipartFile("file", "avatar.png", "image/png", png()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A different image each time, so every upload is a new blob
+    private static byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, UUID.randomUUID().hashCode());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+
+    // What the archiver does to a task, without its Postgres-only statement
+    private Long archiveTask() {
+        TaskResponse task = tasks.get(5);
+        archivedTaskRepository.save(ArchivedTask.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .dueDate(task.getDueDate())
+                .status(TaskStatus.DONE)
+                .project(projectRepository.getReferenceById(task.getProjectId()))
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .archivedAt(LocalDateTime.now())
+                .build());
+        taskRepository.deleteById(task.getId());
+        return task.getId();
+    }
+
+    private Long projectId() {
+        return projects.get(1).getId();
+    }
+
+    private Long taskId() {
+        return tasks.get(5).getId();
+    }
+}
@@ -0,0 +1,375 @@
+package com.myworkflow.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myworkflow.application.service.DashboardService;
+import com.myworkflow.domain.model.TaskStatus;
+import com.myworkflow.domain.model.User;
+import com.myworkflow.domain.repository.ArchivedTaskRepository;
+import com.myworkflow.domain.repository.ProjectRepository;
+import com.myworkflow.domain.repository.TaskRepository;
+import com.myworkflow.domain.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hot repository queries against an embedded Postgres migrated by Flyway and
+ * seeded with enough rows that the planner has a real choice, then EXPLAINs every
+ * statement they sent with the same bound parameters. Fails on any sequential scan,
+ * so a dropped index or a query rewritten past its index shows up here.
+ */
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@TestPropertySource(locations = "classpath:test.properties")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+
+    private static final int USERS = 2_000;
+    private static final int PROJECTS = 20_000;
+    private static final int TASKS = 400_000;
+    private static final int ARCHIVED_TASKS = 100_000;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private long userId;
+    private long projectId;
+    private long taskId;
+    private String email;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        if (postgres == null) {
+            postgres = EmbeddedPostgres.start();
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, profile_image_url, created_at, updated_at) " +
+                "SELECT 'user' || u || '@example.com', 'not-used', 'Plan', 'Test', " +
+                "CASE WHEN u % 3 = 0 THEN '/uploads/blobs/' || md5(u::text) || '.png' END, now(), now() " +
+                "FROM generate_series(1, ?) u", USERS);
+        jdbcTemplate.update("INSERT INTO projects (title, description, user_id, created_at, updated_at) " +
+                "SELECT 'Project ' || p, 'Query plan fixture', 1 + p % ?, " +
+                "now() - (p % 500) * INTERVAL '1 day', now() " +
+                "FROM generate_series(1, ?) p", USERS, PROJECTS);
+        jdbcTemplate.update("INSERT INTO tasks (title, description, due_date, status, project_id, created_at, updated_at) " +
+                "SELECT 'Task ' || t, 'Description ' || t, CURRENT_DATE + (t % 120) - 60, " +
+                "(ARRAY['TODO', 'IN_PROGRESS', 'DONE', 'DONE'])[1 + t % 4], 1 + t % ?, " +
+                "now() - (t % 1000) * INTERVAL '1 hour', now() - (t % 200) * INTERVAL '1 day' " +
+                "FROM generate_series(1, ?) t", PROJECTS, TASKS);
+        jdbcTemplate.update("INSERT INTO archived_tasks " +
+                "(id, title, description, due_date, status, project_id, created_at, updated_at, archived_at) " +
+                "SELECT t, 'Archived ' || t, NULL, NULL, 'DONE', 1 + t % ?, " +
+                "now() - INTERVAL '1 year', now() - INTERVAL '300 days', now() " +
+                "FROM generate_series(?, ?) t", PROJECTS, TASKS + 1, TASKS + ARCHIVED_TASKS);
+        jdbcTemplate.update("INSERT INTO archived_task_counts (project_id, task_count) " +
+                "SELECT project_id, COUNT(*) FROM archived_tasks GROUP BY project_id");
+        jdbcTemplate.execute("ANALYZE");
+
+        userId = 42;
+        email = "user42@example.com";
+        projectId = jdbcTemplate.queryForObject("SELECT min(id) FROM projects WHERE user_id = ?", Long.class, userId);
+        taskId = jdbcTemplate.queryForObject("SELECT min(id) FROM tasks WHERE project_id = ?", Long.class, projectId);
+    }
+
+    @Test
+    void taskLookups() {
+        assertNoSeqScan(() -> taskRepository.findProjectIdById(taskId));
+        assertNoSeqScan(() -> taskRepository.findWithProjectById(taskId, projectId));
+        assertNoSeqScan(() -> taskRepository.findSummaryById(taskId, projectId));
+        assertNoSeqScan(() -> archivedTaskRepository.findWithProjectById((long) TASKS + 1));
+        assertNoSeqScan(() -> archivedTaskRepository.findOwnerIdById((long) TASKS + 1));
+    }
+
+    @Test
+    void projectTaskCounts() {
+        assertNoSeqScan(() -> taskRepository.countByProjectId(projectId));
+        assertNoSeqScan(() -> taskRepository.findByProjectAndStatus(
+                projectRepository.getReferenceById(projectId), TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void taskListings() {
+        assertNoSeqScan(() -> findTaskSummaries(null, null, null, null, false));
+        assertNoSeqScan(() -> findTaskSummaries(projectId, null, null, null, false));
+        assertNoSeqScan(() -> findTaskSummaries(projectId, TaskStatus.TODO, null, null, false));
+        assertNoSeqScan(() -> findTaskSummaries(projectId, null, LocalDate.now(), null, false));
+        assertNoSeqScan(() -> findTaskSummaries(null, null, null, null, true));
+        assertNoSeqScan(() -> findTaskSummaries(null, null, null, "%task 4%", false));
+    }
+
+    @Test
+    void taskListingsIncludingArchive() {
+        assertNoSeqScan(() -> taskRepository.findSummariesIncludingArchived(
+                userId, projectId, null, null, null, false, 100, newestFirst()));
+        assertNoSeqScan(() -> taskRepository.findUserSummariesIncludingArchived(
+                userId, TaskStatus.DONE, null, null, false, 100, newestFirst()));
+    }
+
+    @Test
+    void ownershipGuardedTaskWrites() {
+        assertNoSeqScan(() -> inRollback(() -> taskRepository.updateOwned(
+                taskId, projectId, userId, "Renamed", null, null, TaskStatus.DONE, LocalDateTime.now())));
+        assertNoSeqScan(() -> inRollback(() -> taskRepository.deleteOwned(taskId, projectId, userId)));
+        assertNoSeqScan(() -> inRollback(() -> taskRepository.deleteOwnedByProjectId(projectId, userId)));
+    }
+
+    @Test
+    void archiveMaintenance() {
+        // Steady state: the archiver keeps up, so only a thin slice is past the cutoff
+        assertNoSeqScan(() -> inRollback(() ->
+                archivedTaskRepository.archiveBatch(LocalDateTime.now().minusDays(199), 500)));
+        assertNoSeqScan(() -> inRollback(() -> archivedTaskRepository.deleteByProjectId(projectId)));
+        assertNoSeqScan(() -> inRollback(() -> archivedTaskRepository.deleteCountByProjectId(projectId)));
+    }
+
+    @Test
+    void projectQueries() {
+        assertNoSeqScan(() -> projectRepository.findSummaries(userId, null, 100, newestFirst()));
+        assertNoSeqScan(() -> projectRepository.findSummaries(userId, "%project 1%", 100, newestFirst()));
+        assertNoSeqScan(() -> projectRepository.findOwnerIdById(projectId));
+        assertNoSeqScan(() -> projectRepository.findWithOwnerById(projectId));
+        assertNoSeqScan(() -> projectRepository.existsByIdAndUser(projectId, userRepository.getReferenceById(userId)));
+    }
+
+    @Test
+    void userQueries() {
+        assertNoSeqScan(() -> userRepository.findByEmail(email));
+        assertNoSeqScan(() -> userRepository.existsByEmail(email));
+        assertNoSeqScan(() -> userRepository.findReferencedProfileImageUrls(
+                List.of("/uploads/blobs/missing.png", "/uploads/blobs/" + "0".repeat(32) + ".png")));
+    }
+
+    @Test
+    void dashboard() {
+        User user = User.builder().id(userId).email(email).build();
+        assertNoSeqScan(() -> dashboardService.getStats(user));
+    }
+
+    private void findTaskSummaries(Long projectId, TaskStatus status, LocalDate dueDate, String search, boolean overdue) {
+        if (projectId != null) {
+            taskRepository.findSummaries(userId, projectId, status, dueDate, search, overdue, 100, newestFirst());
+        } else {
+            taskRepository.findUserSummaries(userId, status, dueDate, search, overdue, 100, newestFirst());
+        }
+    }
+
+    private static Pageable newestFirst() {
+        return PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    private void inRollback(Runnable call) {
+        transactionTemplate.executeWithoutResult(status -> {
+            call.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    private void assertNoSeqScan(Runnable call) {
+        RecordingDataSource recorder = (RecordingDataSource) dataSource;
+        // A cached entity or natural id would answer without a statement
+        entityManagerFactory.getCache().evictAll();
+        List<RecordedStatement> statements = recorder.record(call);
+        assertFalse(statements.isEmpty(), "The call sent no statement to explain");
+
+        for (RecordedStatement statement : statements) {
+            JsonNode plan = explain(recorder.getTargetDataSource(), statement);
+            List<String> seqScans = new ArrayList<>();
+            collectSeqScans(plan, seqScans);
+            assertTrue(seqScans.isEmpty(), () -> "Seq Scan on " + seqScans + " for\n" + statement.sql()
+                    + "\n" + plan.toPrettyString());
+        }
+    }
+
+    // Replays the recorded parameter setters on an EXPLAIN of the same statement, so the
+    // plan is the custom plan Postgres picked for those values
+    private JsonNode explain(DataSource target, RecordedStatement statement) {
+        try (Connection connection = target.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+            for (RecordedSetter setter : statement.setters()) {
+                setter.method().invoke(explain, setter.args());
+            }
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+            }
+        } catch (SQLException | ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not explain " + statement.sql(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource target && "dataSource".equals(beanName)
+                            ? new RecordingDataSource(target)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    record RecordedSetter(Method method, Object[] args) {
+    }
+
+    record RecordedStatement(String sql, List<RecordedSetter> setters) {
+    }
+
+    /**
+     * Keeps the SQL and parameter setters of every query and DML statement prepared
+     * while a call is being recorded.
+     */
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        private List<RecordedStatement> recording;
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        synchronized List<RecordedStatement> record(Runnable call) {
+            recording = new ArrayList<>();
+            try {
+                call.run();
+                return recording;
+            } finally {
+                recording = null;
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recordingConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recordingConnection(super.getConnection(username, password));
+        }
+
+        private Connection recordingConnection(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        List<RecordedStatement> current = recording;
+                        if (current != null && "prepareStatement".equals(method.getName()) && isExplainable((String) args[0])) {
+                            RecordedStatement statement = new RecordedStatement((String) args[0], new ArrayList<>());
+                            current.add(statement);
+                            return recordingStatement((PreparedStatement) result, statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement recordingStatement(PreparedStatement statement, RecordedStatement recorded) {
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer) {
+                            recorded.setters().add(new RecordedSetter(method, args.clone()));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static boolean isExplainable(String sql) {
+            String start = sql.stripLeading().toLowerCase(Locale.ROOT);
+            return (start.startsWith("select") || start.startsWith("with")
+                    || start.startsWith("update") || start.startsWith("delete"))
+                    && !start.startsWith("select nextval");
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
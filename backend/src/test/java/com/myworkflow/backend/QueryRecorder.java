@@ -0,0 +1,105 @@
+package com.myworkflow.backend;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Statement inspector that records the SQL Hibernate sends while a block runs on
+ * the calling thread, together with the lazy loads Hibernate statistics counted
+ * for it. Work done by other threads, such as async listeners, is left out.
+ */
+class QueryRecorder implements StatementInspector {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(?:, ?\\?)+\\)");
+    private static final Pattern DML = Pattern.compile("\\b(insert into|update \\w+ set|delete from)\\b");
+
+    private volatile Thread recordingThread;
+    private final List<String> statements = new ArrayList<>();
+
+    private Statistics statistics;
+
+    void setStatistics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (Thread.currentThread() == recordingThread) {
+            statements.add(normalize(sql));
+        }
+        return sql;
+    }
+
+    <T> Recording<T> record(Supplier<T> action) {
+        statements.clear();
+        statistics.clear();
+        recordingThread = Thread.currentThread();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            recordingThread = null;
+        }
+        return new Recording<>(result, List.copyOf(statements),
+                statistics.getEntityFetchCount(), statistics.getCollectionFetchCount());
+    }
+
+    // Bind lists of any length look the same, so a snapshot does not depend on fixture sizes
+    static String normalize(String sql) {
+        String text = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(text).replaceAll("(?...)");
+    }
+
+    static String kind(String sql) {
+        String keyword = sql.substring(0, Math.max(sql.indexOf(' '), 0)).toLowerCase(Locale.ROOT);
+        if (!keyword.equals("with")) {
+            return keyword;
+        }
+        // A CTE is a read unless it wraps a write
+        return DML.matcher(sql.toLowerCase(Locale.ROOT)).find() ? "write" : "select";
+    }
+
+    /**
+     * What one service call sent to the database. Entity and collection fetches are
+     * lazy loads: a proxy or collection initialized after the query that returned it.
+     */
+    record Recording<T>(T result, List<String> statements, long entityFetches, long collectionFetches) {
+
+        Map<String, Integer> countsByKind() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (String sql : statements) {
+                counts.merge(kind(sql), 1, Integer::sum);
+            }
+            return counts;
+        }
+
+        // The same read sent twice in one call is what an N+1 looks like at any data size
+        List<String> repeatedReads() {
+            Map<String, Integer> seen = new LinkedHashMap<>();
+            statements.stream().filter(sql -> kind(sql).equals("select"))
+                    .forEach(sql -> seen.merge(sql, 1, Integer::sum));
+            return seen.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 1)
+                    .map(entry -> entry.getValue() + "x " + entry.getKey())
+                    .toList();
+        }
+
+        String toSnapshot() {
+            StringBuilder text = new StringBuilder();
+            text.append("statements: ").append(statements.size()).append(' ').append(countsByKind()).append('\n');
+            text.append("entity fetches: ").append(entityFetches).append('\n');
+            text.append("collection fetches: ").append(collectionFetches).append('\n');
+            statements.forEach(sql -> text.append(sql).append('\n'));
+            return text.toString();
+        }
+    }
+}
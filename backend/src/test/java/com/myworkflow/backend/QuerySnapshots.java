@@ -0,0 +1,84 @@
+package com.myworkflow.backend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Recorded statements per service call, kept in src/test/resources/query-snapshots
+ * with one file per service and one "## method scenario" section per call. A call
+ * that sends different SQL than its snapshot fails; after an intended change run
+ * the tests with -Dquery.snapshots.update=true and review the diff.
+ */
+class QuerySnapshots {
+
+    private static final Path DIRECTORY = Path.of("src/test/resources/query-snapshots");
+    private static final boolean UPDATE = Boolean.getBoolean("query.snapshots.update");
+    private static final String HEADER = "## ";
+
+    private QuerySnapshots() {
+    }
+
+    static synchronized void verify(String service, String call, String actual) {
+        Path file = DIRECTORY.resolve(service + ".txt");
+        Map<String, String> sections = read(file);
+        String expected = sections.get(call);
+
+        if (UPDATE) {
+            sections.put(call, actual);
+            write(file, sections);
+            return;
+        }
+        if (expected == null) {
+            fail("No query snapshot for " + service + " " + call + ", run with -Dquery.snapshots.update=true");
+        }
+        assertEquals(expected, actual, "Statements of " + service + " " + call
+                + " changed, run with -Dquery.snapshots.update=true if intended");
+    }
+
+    private static Map<String, String> read(Path file) {
+        Map<String, String> sections = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return sections;
+        }
+        try {
+            String name = null;
+            StringBuilder body = new StringBuilder();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.startsWith(HEADER)) {
+                    if (name != null) {
+                        sections.put(name, body.toString());
+                    }
+                    name = line.substring(HEADER.length());
+                    body.setLength(0);
+                } else if (name != null && !line.isEmpty()) {
+                    body.append(line).append('\n');
+                }
+            }
+            if (name != null) {
+                sections.put(name, body.toString());
+            }
+            return sections;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(Path file, Map<String, String> sections) {
+        StringBuilder text = new StringBuilder();
+        sections.forEach((name, body) -> text.append(HEADER).append(name).append('\n').append(body).append('\n'));
+        try {
+            Files.createDirectories(DIRECTORY);
+            Files.writeString(file, text, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
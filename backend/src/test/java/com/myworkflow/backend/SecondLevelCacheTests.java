@@ -0,0 +1,154 @@
+package com.myworkflow.backend;
+
+import com.myworkflow.application.dto.request.CreateProjectRequest;
+import com.myworkflow.application.dto.request.UpdateProfileRequest;
+import com.myworkflow.application.dto.request.UpdateProjectRequest;
+import com.myworkflow.application.dto.response.ProjectResponse;
+import com.myworkflow.application.service.AuthService;
+import com.myworkflow.application.service.ProjectService;
+import com.myworkflow.application.service.UserService;
+import com.myworkflow.domain.model.Project;
+import com.myworkflow.domain.model.User;
+import com.myworkflow.domain.repository.ProjectRepository;
+import com.myworkflow.domain.repository.UserRepository;
+import com.myworkflow.infrastructure.exception.ResourceNotFoundException;
+import com.myworkflow.infrastructure.exception.UnauthorizedException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@H2SpringBootTest(properties = {
+        "test.h2.database=l2cache",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @Test
+    void emailLookupIsServedFromNaturalIdCache() {
+        User user = createUser();
+        authService.getCurrentUser(user.getEmail());
+
+        statistics.clear();
+        User loaded = authService.getCurrentUser(user.getEmail());
+
+        assertEquals(user.getId(), loaded.getId());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void profileUpdateIsVisibleThroughCachedLookups() {
+        User user = createUser();
+        authService.getCurrentUser(user.getEmail());
+
+        userService.updateProfile(user.getId(), UpdateProfileRequest.builder().firstName("Renamed").build());
+
+        statistics.clear();
+        assertEquals("Renamed", authService.getCurrentUser(user.getEmail()).getFirstName());
+        assertEquals("Renamed", userRepository.findById(user.getId()).orElseThrow().getFirstName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void projectUpdateIsVisibleAndKeepsOtherEntries() {
+        User user = createUser();
+        ProjectResponse updatedProject = createProject(user);
+        ProjectResponse otherProject = createProject(user);
+        projectRepository.findById(otherProject.getId());
+
+        projectService.updateProject(updatedProject.getId(), user,
+                UpdateProjectRequest.builder().title("Updated title").build());
+
+        // Only the updated entry changes, the rest of the region survives the write
+        assertTrue(sessionFactory.getCache().containsEntity(Project.class, otherProject.getId()));
+
+        statistics.clear();
+        assertEquals("Updated title", projectRepository.findById(updatedProject.getId()).orElseThrow().getTitle());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        assertEquals("Updated title", projectService.getProjectById(updatedProject.getId(), user).getTitle());
+    }
+
+    @Test
+    void rejectedUpdateLeavesCachedProjectUnchanged() {
+        User owner = createUser();
+        User intruder = createUser();
+        ProjectResponse project = createProject(owner);
+
+        assertThrows(UnauthorizedException.class, () -> projectService.updateProject(project.getId(), intruder,
+                UpdateProjectRequest.builder().title("Hijacked").build()));
+
+        assertEquals(project.getTitle(), projectRepository.findById(project.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void deletedProjectIsEvicted() {
+        User user = createUser();
+        ProjectResponse project = createProject(user);
+        projectRepository.findById(project.getId());
+        assertTrue(sessionFactory.getCache().containsEntity(Project.class, project.getId()));
+
+        projectService.deleteProject(project.getId(), user);
+
+        // READ_WRITE leaves a soft lock in place of the entry, so a load has to go to the database
+        statistics.clear();
+        assertFalse(projectRepository.findById(project.getId()).isPresent());
+        assertEquals(0, statistics.getSecondLevelCacheHitCount());
+        assertThrows(ResourceNotFoundException.class, () -> projectService.getProjectById(project.getId(), user));
+    }
+
+    private User createUser() {
+        return userRepository.save(User.builder()
+                .email("cache-" + UUID.randomUUID() + "@example.com")
+                .password("not-used")
+                .firstName("Cache")
+                .lastName("Test")
+                .build());
+    }
+
+    // Identity inserts are not put into the cache, the first load by id fills it
+    private ProjectResponse createProject(User user) {
+        return projectService.createProject(user, CreateProjectRequest.builder()
+                .title("Project " + UUID.randomUUID())
+                .description("Second-level cache coherence")
+                .build());
+    }
+}
@@ -0,0 +1,111 @@
+package com.myworkflow.backend;
+
+import com.myworkflow.application.dto.response.SlowQueryResponse;
+import com.myworkflow.infrastructure.datasource.SlowQueryLog;
+import com.myworkflow.infrastructure.datasource.StatementExecution;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the sampled EXPLAIN against a primary and a separate replica instance. The
+ * probe table only exists on the replica, so a captured plan shows the EXPLAIN went
+ * there and not to the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "slow-query.explain.sample-rate=1.0",
+        "datasource.replica.maximum-pool-size=1"
+})
+@TestPropertySource(locations = "classpath:test.properties")
+class SlowQueryExplainTests {
+
+    private static final String APPLICATION_NAME = "slow-query-explain-replica";
+    private static final String PROBE_QUERY = "SELECT * FROM plan_probe WHERE id = ?";
+
+    private static EmbeddedPostgres primary;
+    private static EmbeddedPostgres replica;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        if (primary == null) {
+            primary = EmbeddedPostgres.start();
+            replica = EmbeddedPostgres.start();
+            try (Connection connection = replica.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE plan_probe (id BIGINT PRIMARY KEY, label TEXT)");
+                statement.execute("INSERT INTO plan_probe SELECT n, 'probe ' || n FROM generate_series(1, 100) n");
+            }
+        }
+        registry.add("spring.datasource.url", () -> primary.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("datasource.replica.url", () ->
+                replica.getJdbcUrl("postgres", "postgres") + "&ApplicationName=" + APPLICATION_NAME);
+    }
+
+    @BeforeEach
+    void clear() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    void capturesPlanOnReplica() throws InterruptedException {
+        slowQueryLog.executed(new StatementExecution(PROBE_QUERY, List.of(42L), 0, 1_000_000_000L, null));
+
+        SlowQueryResponse entry = awaitPlan();
+        assertTrue(entry.getPlan().contains("plan_probe"), entry.getPlan());
+        assertTrue(entry.getPlan().contains("actual time"), "EXPLAIN should have run with ANALYZE");
+        assertNotNull(entry.getPlanCapturedAt());
+    }
+
+    @Test
+    void returnsConnectionRolledBack() throws InterruptedException {
+        slowQueryLog.executed(new StatementExecution(PROBE_QUERY, List.of(7L), 0, 1_000_000_000L, null));
+        awaitPlan();
+
+        assertEquals(0, replicaDataSource.getHikariPoolMXBean().getActiveConnections());
+        // With a one-connection pool the session that ran the EXPLAIN is the only one left
+        JdbcTemplate monitor = new JdbcTemplate(replica.getPostgresDatabase());
+        List<String> states = monitor.queryForList(
+                "SELECT state FROM pg_stat_activity WHERE application_name = ?", String.class, APPLICATION_NAME);
+        assertEquals(List.of("idle"), states);
+    }
+
+    private SlowQueryResponse awaitPlan() throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            List<SlowQueryResponse> entries = slowQueryLog.entries();
+            if (!entries.isEmpty() && entries.get(0).getPlan() != null) {
+                return entries.get(0);
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("No plan captured for " + PROBE_QUERY);
+    }
+}
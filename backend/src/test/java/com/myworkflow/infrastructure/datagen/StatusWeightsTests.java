@@ -0,0 +1,38 @@
+package com.myworkflow.infrastructure.datagen;
+
+import com.myworkflow.domain.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StatusWeightsTests {
+
+    @Test
+    void parsesWeightsInOrder() {
+        Map<TaskStatus, Double> weights = DatasetGenerator.parseWeights("TODO:30, IN_PROGRESS:15,DONE:55");
+
+        assertEquals(List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS, TaskStatus.DONE), List.copyOf(weights.keySet()));
+        assertEquals(30.0, weights.get(TaskStatus.TODO));
+        assertEquals(55.0, weights.get(TaskStatus.DONE));
+    }
+
+    @Test
+    void rejectsUnknownStatus() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> DatasetGenerator.parseWeights("TODO:30,ARCHIVED:10"));
+        assertEquals("Unknown task status 'ARCHIVED', expected one of [TODO, IN_PROGRESS, DONE]", e.getMessage());
+    }
+
+    @Test
+    void rejectsMalformedWeights() {
+        assertThrows(IllegalArgumentException.class, () -> DatasetGenerator.parseWeights("TODO"));
+        assertThrows(IllegalArgumentException.class, () -> DatasetGenerator.parseWeights("TODO:many"));
+        assertThrows(IllegalArgumentException.class, () -> DatasetGenerator.parseWeights("TODO:-1,DONE:5"));
+        assertThrows(IllegalArgumentException.class, () -> DatasetGenerator.parseWeights("TODO:1,TODO:2"));
+        assertThrows(IllegalArgumentException.class, () -> DatasetGenerator.parseWeights("TODO:0,DONE:0"));
+    }
+}
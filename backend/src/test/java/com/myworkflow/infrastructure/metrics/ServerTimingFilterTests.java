@@ -0,0 +1,50 @@
+package com.myworkflow.infrastructure.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingFilterTests {
+
+    private static final String SQL = "select t1_0.id, t1_0.title from tasks t1_0 where t1_0.project_id=? ".repeat(3);
+
+    private final ServerTimingFilter filter = new ServerTimingFilter(true, true, DataSize.ofKilobytes(4),
+            new String[]{"http://localhost:3000"});
+
+    @Test
+    void debugQueryHeadersStayWithinTheLimit() throws Exception {
+        List<String> headers = run(200);
+
+        int total = headers.stream().mapToInt(header -> ServerTimingFilter.DEBUG_QUERIES.length() + header.length() + 4).sum();
+        assertTrue(total <= 4096 + 64, "debug headers took " + total + " bytes");
+        String last = headers.get(headers.size() - 1);
+        assertEquals("... " + (200 - (headers.size() - 1)) + " more statements omitted", last);
+    }
+
+    @Test
+    void everyQueryIsSentWhenTheyFit() throws Exception {
+        List<String> headers = run(3);
+
+        assertEquals(3, headers.size());
+        assertTrue(headers.get(0).startsWith("TaskRepository.findSummaries: select"));
+    }
+
+    private List<String> run(int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(ServerTimingFilter.DEBUG_QUERIES, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            for (int i = 0; i < statements; i++) {
+                ServerTiming.recordStatement("TaskRepository.findSummaries", SQL);
+            }
+        });
+        return response.getHeaders(ServerTimingFilter.DEBUG_QUERIES);
+    }
+}
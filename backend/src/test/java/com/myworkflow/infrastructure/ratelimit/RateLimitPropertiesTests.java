@@ -0,0 +1,55 @@
+package com.myworkflow.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitPropertiesTests {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(Config.class);
+
+    @Configuration
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class Config {
+    }
+
+    @Test
+    void defaultRulesAreValid() {
+        runner.run(context -> assertThat(context).hasNotFailed());
+    }
+
+    @Test
+    void validRuleIsAccepted() {
+        runner.withPropertyValues(rule("10", "PT1M"))
+                .run(context -> assertThat(context).hasNotFailed());
+    }
+
+    @Test
+    void zeroCapacityFailsAtStartup() {
+        runner.withPropertyValues(rule("0", "PT1M"))
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void missingOrZeroPeriodFailsAtStartup() {
+        runner.withPropertyValues("rate-limit.rules[0].pattern=/api/**", "rate-limit.rules[0].ip.capacity=10")
+                .run(context -> assertThat(context).hasFailed());
+        runner.withPropertyValues(rule("10", "PT0S"))
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    private static String[] rule(String capacity, String period) {
+        return new String[]{
+                "rate-limit.rules[0].pattern=/api/**",
+                "rate-limit.rules[0].ip.capacity=" + capacity,
+                "rate-limit.rules[0].ip.period=" + period
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.myworkflow.infrastructure.ratelimit;
+
+import com.myworkflow.infrastructure.ratelimit.TokenBucketRegistry.BucketKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRegistryTests {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(1_000);
+    private static final long PERIOD = TimeUnit.MINUTES.toNanos(1);
+    private static final long IDLE = TimeUnit.MINUTES.toNanos(10);
+
+    private final TokenBucketRegistry registry = new TokenBucketRegistry(3, IDLE);
+
+    @Test
+    void returnsTheSameBucketForAKey() {
+        TokenBucket first = bucket("10.0.0.1", START);
+
+        assertSame(first, bucket("10.0.0.1", START + 1));
+        assertNotSame(first, bucket("10.0.0.2", START));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void sweepDropsOnlyIdleBuckets() {
+        bucket("idle", START).tryConsume(START);
+        long later = START + IDLE + TimeUnit.MINUTES.toNanos(1);
+        bucket("active", later).tryConsume(later);
+
+        registry.sweep(later);
+
+        assertEquals(1, registry.size());
+        assertSame(bucket("active", later), bucket("active", later));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void boundEvictsFullBucketsBeforeAnythingElse() {
+        throttle(bucket("throttled", START), START);
+        bucket("full-1", START);
+        bucket("full-2", START);
+
+        TokenBucket newcomer = bucket("newcomer", START);
+
+        // The full buckets went, the throttled one kept its debt
+        assertEquals(2, registry.size());
+        assertTrue(newcomer.tryConsume(START).allowed());
+        assertFalse(bucket("throttled", START).tryConsume(START).allowed());
+    }
+
+    @Test
+    void saturatedStoreNeverDropsThrottledBuckets() {
+        throttle(bucket("a", START), START);
+        throttle(bucket("b", START), START);
+        throttle(bucket("c", START), START);
+
+        TokenBucket overflow = bucket("d", START);
+        assertTrue(overflow.tryConsume(START).allowed());
+
+        // New subjects share one overflow bucket instead of resetting someone's limit
+        assertSame(overflow, bucket("e", START));
+        assertTrue(bucket("f", START).tryConsume(START).allowed());
+        assertFalse(bucket("g", START).tryConsume(START).allowed());
+        assertEquals(4, registry.size());
+        for (String subject : new String[]{"a", "b", "c"}) {
+            assertFalse(bucket(subject, START).tryConsume(START).allowed());
+        }
+    }
+
+    @Test
+    void saturatedStoreRecoversOnceBucketsRefill() {
+        throttle(bucket("a", START), START);
+        throttle(bucket("b", START), START);
+        throttle(bucket("c", START), START);
+        TokenBucket overflow = bucket("d", START);
+
+        // A full period later every bucket is full again and can make room
+        long later = START + PERIOD;
+        TokenBucket own = bucket("d", later);
+
+        assertNotSame(overflow, own);
+        assertTrue(registry.size() <= 3);
+    }
+
+    private TokenBucket bucket(String subject, long now) {
+        return registry.bucket(new BucketKey(0, 'i', subject), 2, PERIOD, now);
+    }
+
+    private static void throttle(TokenBucket bucket, long now) {
+        while (bucket.tryConsume(now).allowed()) {
+            // drain
+        }
+    }
+}
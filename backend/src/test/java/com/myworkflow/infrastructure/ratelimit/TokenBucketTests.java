@@ -0,0 +1,81 @@
+package com.myworkflow.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTests {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(1_000);
+    private static final long PERIOD = TimeUnit.SECONDS.toNanos(10);
+
+    // 5 requests per 10 s: one token every 2 s
+    private final TokenBucket bucket = new TokenBucket(5, PERIOD, START);
+
+    @Test
+    void allowsAFullBurstThenRejects() {
+        for (int i = 4; i >= 0; i--) {
+            TokenBucket.Probe probe = bucket.tryConsume(START);
+            assertTrue(probe.allowed());
+            assertEquals(5, probe.limit());
+            assertEquals(i, probe.remaining());
+        }
+
+        TokenBucket.Probe rejected = bucket.tryConsume(START);
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(TimeUnit.SECONDS.toNanos(2), rejected.retryAfterNanos());
+    }
+
+    @Test
+    void rejectionsDoNotConsume() {
+        drain(START);
+        for (int i = 0; i < 10; i++) {
+            assertFalse(bucket.tryConsume(START).allowed());
+        }
+
+        // Still exactly one token after one emission interval
+        long later = START + TimeUnit.SECONDS.toNanos(2);
+        assertTrue(bucket.tryConsume(later).allowed());
+        assertFalse(bucket.tryConsume(later).allowed());
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        drain(START);
+
+        assertFalse(bucket.tryConsume(START + TimeUnit.SECONDS.toNanos(1)).allowed());
+        assertTrue(bucket.tryConsume(START + TimeUnit.SECONDS.toNanos(2)).allowed());
+    }
+
+    @Test
+    void neverBanksMoreThanItsCapacity() {
+        long muchLater = START + TimeUnit.HOURS.toNanos(1);
+        drain(muchLater);
+
+        assertFalse(bucket.tryConsume(muchLater).allowed());
+    }
+
+    @Test
+    void fullAndIdleFollowTheDebt() {
+        long idle = TimeUnit.MINUTES.toNanos(10);
+        assertTrue(bucket.isFull(START));
+        assertFalse(bucket.isIdle(START, idle));
+
+        bucket.tryConsume(START);
+        assertFalse(bucket.isFull(START));
+        assertTrue(bucket.isFull(START + TimeUnit.SECONDS.toNanos(2)));
+        assertFalse(bucket.isIdle(START + TimeUnit.SECONDS.toNanos(2), idle));
+        assertTrue(bucket.isIdle(START + TimeUnit.SECONDS.toNanos(2) + idle, idle));
+    }
+
+    private void drain(long now) {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(bucket.tryConsume(now).allowed());
+        }
+    }
+}
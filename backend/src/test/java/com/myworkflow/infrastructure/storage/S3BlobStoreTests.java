@@ -0,0 +1,212 @@
+package com.myworkflow.infrastructure.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * S3BlobStore against an in-memory S3Client, with a real presigner so the
+ * redirect URLs are signed exactly as they would be for MinIO.
+ */
+class S3BlobStoreTests {
+
+    private static final String BUCKET = "uploads";
+    private static final String BLOB_KEY = "blobs/ab/cd/" + "abcd".repeat(16) + ".png";
+
+    private final FakeS3Client client = new FakeS3Client();
+    private final S3Presigner presigner = S3Presigner.builder()
+            .region(Region.US_EAST_1)
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("access", "secret")))
+            .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+            .endpointOverride(URI.create("http://localhost:9000"))
+            .build();
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void closePresigner() {
+        presigner.close();
+    }
+
+    @Test
+    void putStoresTheObjectAsImmutable() throws IOException {
+        S3BlobStore store = store(true);
+        Path source = Files.writeString(tempDir.resolve("upload.part"), "image bytes");
+
+        store.put(BLOB_KEY, source, "image/png");
+
+        PutObjectRequest put = client.puts.get(BLOB_KEY);
+        assertEquals(BUCKET, put.bucket());
+        assertEquals("image/png", put.contentType());
+        assertEquals("public, max-age=31536000, immutable", put.cacheControl());
+        assertArrayEquals("image bytes".getBytes(StandardCharsets.UTF_8), client.objects.get(BLOB_KEY));
+    }
+
+    @Test
+    void statAndOpenTreatMissingKeysAsAbsent() throws IOException {
+        S3BlobStore store = store(true);
+
+        assertTrue(store.stat(BLOB_KEY).isEmpty());
+        assertThrows(NoSuchFileException.class, () -> store.open(BLOB_KEY));
+
+        // HEAD responses have no body, so a missing key may only show up as a bare 404
+        client.headFailure = (S3Exception) S3Exception.builder().statusCode(404).build();
+        assertTrue(store.stat(BLOB_KEY).isEmpty());
+
+        client.headFailure = (S3Exception) S3Exception.builder().statusCode(403).build();
+        assertThrows(IOException.class, () -> store.stat(BLOB_KEY));
+    }
+
+    @Test
+    void downloadUrlIsPresignedForTheConfiguredTtl() {
+        URI url = store(true).downloadUrl(BLOB_KEY).orElseThrow();
+
+        assertEquals("http://localhost:9000/" + BUCKET + "/" + BLOB_KEY, url.getScheme() + "://"
+                + url.getAuthority() + url.getPath());
+        assertTrue(url.getQuery().contains("X-Amz-Expires=900"));
+        assertTrue(url.getQuery().contains("X-Amz-Signature="));
+    }
+
+    @Test
+    void downloadUrlIsEmptyWhenRedirectsAreOff() {
+        assertTrue(store(false).downloadUrl(BLOB_KEY).isEmpty());
+    }
+
+    @Test
+    void contentAddressedDownloadsRedirectToThePresignedUrl() throws Exception {
+        UploadResourceHandler handler = handler(store(true));
+
+        MockHttpServletResponse response = get(handler, BLOB_KEY);
+
+        assertEquals(302, response.getStatus());
+        assertEquals("private, max-age=300", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertTrue(response.getHeader(HttpHeaders.LOCATION)
+                .startsWith("http://localhost:9000/" + BUCKET + "/" + BLOB_KEY + "?"));
+    }
+
+    @Test
+    void legacyDownloadsAreServedThroughTheCache() throws Exception {
+        String legacyKey = "profile-images/0b6f_avatar.png";
+        client.objects.put(legacyKey, "legacy".getBytes(StandardCharsets.UTF_8));
+        UploadResourceHandler handler = handler(store(true));
+
+        MockHttpServletResponse response = get(handler, legacyKey);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.LOCATION));
+        assertEquals("legacy", response.getContentAsString());
+    }
+
+    private S3BlobStore store(boolean redirectDownloads) {
+        return new S3BlobStore(client, presigner, BUCKET, Duration.ofMinutes(15), redirectDownloads);
+    }
+
+    private UploadResourceHandler handler(S3BlobStore store) throws IOException {
+        return new UploadResourceHandler(new CachingBlobStore(store, tempDir.resolve("cache"), 1 << 20),
+                49152, 100);
+    }
+
+    private static MockHttpServletResponse get(UploadResourceHandler handler, String key) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/" + key);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, key);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+
+    private static class FakeS3Client implements S3Client {
+
+        private final Map<String, byte[]> objects = new HashMap<>();
+        private final Map<String, PutObjectRequest> puts = new HashMap<>();
+        private S3Exception headFailure;
+
+        @Override
+        public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+            try (InputStream in = body.contentStreamProvider().newStream()) {
+                objects.put(request.key(), in.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            puts.put(request.key(), request);
+            return PutObjectResponse.builder().build();
+        }
+
+        @Override
+        public HeadObjectResponse headObject(HeadObjectRequest request) {
+            if (headFailure != null) {
+                throw headFailure;
+            }
+            return HeadObjectResponse.builder()
+                    .contentLength((long) object(request.key()).length)
+                    .lastModified(Instant.now())
+                    .build();
+        }
+
+        @Override
+        public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+            byte[] content = object(request.key());
+            return new ResponseInputStream<>(
+                    GetObjectResponse.builder().contentLength((long) content.length).build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(content)));
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private byte[] object(String key) {
+            byte[] content = objects.get(key);
+            if (content == null) {
+                throw NoSuchKeyException.builder().statusCode(404).build();
+            }
+            return content;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.myworkflow.infrastructure.storage;
+
+import com.myworkflow.config.FileStorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /uploads/** through the real handler mapping: which keys are public, and the
+ * hand-written conditional and range handling.
+ */
+@SpringJUnitWebConfig(UploadResourceHandlerTests.Config.class)
+class UploadResourceHandlerTests {
+
+    private static final String HASH = "0123456789abcdef".repeat(4);
+    private static final String BLOB = "blobs/01/23/" + HASH + ".png";
+    private static final String LEGACY = "profile-images/5f2c_avatar.JPG";
+    private static final String CONTENT = "0123456789";
+
+    @Configuration
+    @EnableWebMvc
+    @Import(FileStorageConfig.class)
+    static class Config {
+
+        @Bean
+        Path uploadRoot() throws IOException {
+            return Files.createTempDirectory("uploads");
+        }
+
+        @Bean
+        UploadResourceHandler uploadResourceHandler(Path uploadRoot) {
+            return new UploadResourceHandler(new LocalFileSystemBlobStore(uploadRoot), 49152, 100);
+        }
+    }
+
+    @Autowired
+    private Path root;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp(WebApplicationContext context) throws IOException {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        write(BLOB, CONTENT);
+        write(LEGACY, CONTENT);
+    }
+
+    @Test
+    void servesPublicLayouts() throws Exception {
+        assertEquals(200, statusOf(BLOB));
+        assertEquals(200, statusOf(write("variants/01/23/" + HASH + "-64.jpg", CONTENT)));
+        assertEquals(200, statusOf(LEGACY));
+    }
+
+    @Test
+    void hidesEverythingElse() throws Exception {
+        assertEquals(404, statusOf(write("tmp/upload-1234.part", CONTENT)));
+        assertEquals(404, statusOf(write("cache/blobs/01/23/" + HASH + ".png", CONTENT)));
+        assertEquals(404, statusOf(write("profile-images/nested/avatar.png", CONTENT)));
+        assertEquals(404, statusOf(write("blobs/01/23/not-a-hash.png", CONTENT)));
+        assertEquals(404, statusOf(write("notes.txt", CONTENT)));
+        assertEquals(404, statusOf("profile-images/.."));
+        assertEquals(404, statusOf("blobs/01/23/" + "f".repeat(64) + ".png"));
+    }
+
+    @Test
+    void contentAddressedBlobsAreImmutableWithTheHashAsETag() throws Exception {
+        fetch(BLOB)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void legacyFilesRevalidateWithAContentDigestETag() throws Exception {
+        String digest = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+        fetch(LEGACY)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + digest + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        String etag = "\"" + HASH + "\"";
+        for (String ifNoneMatch : new String[]{etag, "*", "W/" + etag, "\"other\", " + etag}) {
+            fetch(BLOB, HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andExpect(content().string(""));
+        }
+
+        fetch(BLOB, HttpHeaders.IF_NONE_MATCH, "\"other\"")
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void singleRangeIsPartialContent() throws Exception {
+        fetch(BLOB, HttpHeaders.RANGE, "bytes=2-5")
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("2345"));
+
+        // Open-ended, and an end past the file clamped to its last byte
+        fetch(BLOB, HttpHeaders.RANGE, "bytes=7-")
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+        fetch(BLOB, HttpHeaders.RANGE, "bytes=8-100")
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 8-9/10"))
+                .andExpect(content().string("89"));
+    }
+
+    @Test
+    void suffixRangeServesTheLastBytes() throws Exception {
+        fetch(BLOB, HttpHeaders.RANGE, "bytes=-3")
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+
+        fetch(BLOB, HttpHeaders.RANGE, "bytes=-50")
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/10"))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void unsatisfiableRangeIsRejected() throws Exception {
+        for (String range : new String[]{"bytes=10-", "bytes=100-200", "bytes=6-2", "bytes=-0"}) {
+            fetch(BLOB, HttpHeaders.RANGE, range)
+                    .andExpect(status().isRequestedRangeNotSatisfiable())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        }
+    }
+
+    @Test
+    void unsupportedRangesFallBackToTheFullBody() throws Exception {
+        for (String range : new String[]{"bytes=0-1,4-5", "items=0-1", "bytes=-"}) {
+            fetch(BLOB, HttpHeaders.RANGE, range)
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                    .andExpect(content().string(CONTENT));
+        }
+    }
+
+    @Test
+    void staleIfRangeSendsEverything() throws Exception {
+        mockMvc.perform(get("/uploads/" + BLOB)
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(CONTENT));
+
+        mockMvc.perform(get("/uploads/" + BLOB)
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"" + HASH + "\""))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void headSendsHeadersWithoutBody() throws Exception {
+        mockMvc.perform(head("/uploads/" + BLOB))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void otherMethodsAreNotAllowed() throws Exception {
+        mockMvc.perform(post("/uploads/" + BLOB))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(header().string(HttpHeaders.ALLOW, "GET, HEAD"));
+    }
+
+    private String write(String key, String content) throws IOException {
+        Path file = root.resolve(key);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        return key;
+    }
+
+    private int statusOf(String key) throws Exception {
+        return fetch(key).andReturn().getResponse().getStatus();
+    }
+
+    private ResultActions fetch(String key) throws Exception {
+        return mockMvc.perform(get("/uploads/" + key));
+    }
+
+    private ResultActions fetch(String key, String header, String value) throws Exception {
+        return mockMvc.perform(get("/uploads/" + key).header(header, value));
+    }
+}
@@ -0,0 +1,50 @@
+package com.myworkflow.infrastructure.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracerTests {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SAMPLED = "00-" + TRACE_ID + "-00f067aa0ba902b7-01";
+    private static final String NOT_SAMPLED = "00-" + TRACE_ID + "-00f067aa0ba902b7-00";
+
+    @Test
+    void untrustedSampledFlagDoesNotBypassTheLocalRate() {
+        Tracer tracer = new Tracer(0, 16);
+
+        assertSame(Span.NOOP, tracer.startTrace("GET", SAMPLED, false));
+    }
+
+    @Test
+    void untrustedCallerIsSampledLocallyUnderItsOwnTraceId() {
+        Tracer tracer = new Tracer(1, 16);
+
+        Span span = tracer.startTrace("GET", NOT_SAMPLED, false);
+        try {
+            assertTrue(span.isRecording());
+            assertEquals(TRACE_ID, span.traceId());
+        } finally {
+            span.end();
+        }
+    }
+
+    @Test
+    void trustedCallerDecidesSampling() {
+        Tracer tracer = new Tracer(0, 16);
+
+        Span span = tracer.startTrace("GET", SAMPLED, true);
+        try {
+            assertTrue(span.isRecording());
+            assertEquals(TRACE_ID, span.traceId());
+        } finally {
+            span.end();
+        }
+
+        assertFalse(new Tracer(1, 16).startTrace("GET", NOT_SAMPLED, true).isRecording());
+    }
+}